@@ -0,0 +1,75 @@
+package com.fabric.bench;
+
+import com.fabric.service.impl.ImageTranscodingServiceImpl;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+final class ImageFixtures {
+    private ImageFixtures() {
+    }
+
+    static BufferedImage photo(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setPaint(new GradientPaint(0, 0, new Color(0x2b4c7e), width, height, new Color(0xe6d3a3)));
+            g2d.fillRect(0, 0, width, height);
+
+            for (int i = 0; i < 200; i++) {
+                g2d.setColor(new Color(random.nextInt(0xffffff)));
+                int size = 8 + random.nextInt(Math.max(9, width / 6));
+                g2d.fillOval(random.nextInt(width), random.nextInt(height), size, size);
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        // Sensor-like noise keeps the encoders from compressing flat areas for free.
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        for (int i = 0; i < pixels.length; i++) {
+            int noise = random.nextInt(17) - 8;
+            int r = clamp(((pixels[i] >> 16) & 0xff) + noise);
+            int g = clamp(((pixels[i] >> 8) & 0xff) + noise);
+            int b = clamp((pixels[i] & 0xff) + noise);
+            pixels[i] = (r << 16) | (g << 8) | b;
+        }
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+
+        return image;
+    }
+
+    static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        if ("webp".equals(format)) {
+            ImageWriter writer = ImageTranscodingServiceImpl.createWebpWriter();
+            try {
+                ImageTranscodingServiceImpl.encode(writer, image, output);
+            } finally {
+                writer.dispose();
+            }
+        } else if (!ImageIO.write(image, format, output)) {
+            throw new IllegalArgumentException("No writer for " + format);
+        }
+
+        return output.toByteArray();
+    }
+
+    static int[] dimensions(String size) {
+        String[] parts = size.split("x");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
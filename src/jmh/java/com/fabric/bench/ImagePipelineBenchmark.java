@@ -0,0 +1,147 @@
+package com.fabric.bench;
+
+import com.fabric.database.entity.enums.ImageVariant;
+import com.fabric.service.impl.ImageTranscodingServiceImpl;
+import com.luciad.imageio.webp.WebPImageReaderSpi;
+import com.luciad.imageio.webp.WebPImageWriterSpi;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.IIORegistry;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImagePipelineBenchmark {
+
+    static {
+        IIORegistry registry = IIORegistry.getDefaultInstance();
+        registry.registerServiceProvider(new WebPImageReaderSpi());
+        registry.registerServiceProvider(new WebPImageWriterSpi());
+        ImageIO.setUseCache(false);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SourceState {
+        @Param({"jpeg", "png", "webp"})
+        public String format;
+
+        @Param({"800x1000", "2048x2560", "4000x5000"})
+        public String size;
+
+        public byte[] bytes;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            int[] dimensions = ImageFixtures.dimensions(this.size);
+            this.bytes = ImageFixtures.encode(ImageFixtures.photo(dimensions[0], dimensions[1]), this.format);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ScaleState {
+        @Param({"bilinear", "bicubic"})
+        public String interpolation;
+
+        @Param({"2048x2560", "4000x5000"})
+        public String size;
+
+        public BufferedImage source;
+        public BufferedImage target;
+        public Object hint;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int[] dimensions = ImageFixtures.dimensions(this.size);
+            this.source = ImageFixtures.photo(dimensions[0], dimensions[1]);
+            this.target = new BufferedImage(ImageVariant.FULL.getWidth(), ImageVariant.FULL.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            this.hint = "bicubic".equals(this.interpolation)
+                    ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+                    : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EncodeState {
+        @Param({"FULL", "CARD", "THUMBNAIL"})
+        public ImageVariant variant;
+
+        public BufferedImage image;
+        public ImageWriter writer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BufferedImage photo = ImageFixtures.photo(ImageVariant.FULL.getWidth(), ImageVariant.FULL.getHeight());
+            this.image = new BufferedImage(this.variant.getWidth(), this.variant.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            ImageTranscodingServiceImpl.scale(photo, this.image, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            this.writer = ImageTranscodingServiceImpl.createWebpWriter();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.writer.dispose();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TranscoderState {
+        public ImageTranscodingServiceImpl transcoder;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.transcoder = new ImageTranscodingServiceImpl(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @Benchmark
+    public BufferedImage decode(SourceState state) throws IOException {
+        return ImageTranscodingServiceImpl.decode(new ByteArrayInputStream(state.bytes),
+                ImageVariant.FULL.getWidth(), ImageVariant.FULL.getHeight());
+    }
+
+    @Benchmark
+    public BufferedImage scale(ScaleState state) {
+        ImageTranscodingServiceImpl.scale(state.source, state.target, state.hint);
+        return state.target;
+    }
+
+    @Benchmark
+    public void encodeWebp(EncodeState state) throws IOException {
+        ImageTranscodingServiceImpl.encode(state.writer, state.image, OutputStream.nullOutputStream());
+        state.writer.reset();
+    }
+
+    @Benchmark
+    public void transcode(SourceState source, TranscoderState state, Blackhole blackhole) {
+        state.transcoder.transcodeToWebp(new ByteArrayInputStream(source.bytes),
+                (variant, encoding) -> {
+                    CountingOutputStream output = new CountingOutputStream();
+                    encoding.writeTo(output);
+                    blackhole.consume(output.count);
+                });
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+    }
+}
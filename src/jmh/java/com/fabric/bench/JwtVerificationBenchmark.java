@@ -0,0 +1,66 @@
+package com.fabric.bench;
+
+import com.fabric.config.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+    private JwtTokenProvider tokenProvider;
+    private MockHttpServletRequest request;
+    private String token;
+    private String fingerprint;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+
+        this.tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(this.tokenProvider, "jwtSecret", Base64.getEncoder().encodeToString(secret));
+        ReflectionTestUtils.setField(this.tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(this.tokenProvider, "jwtRefreshExpirationInMs", TimeUnit.DAYS.toMillis(7));
+        this.tokenProvider.init();
+
+        this.request = new MockHttpServletRequest();
+        this.request.addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0 Safari/537.36");
+        this.request.addHeader("timezone", "Europe/Sofia");
+        this.request.addHeader("Accept-Language", "bg-BG,bg;q=0.9,en;q=0.8");
+        this.request.addHeader("hardwareConcurrency", "8");
+        this.request.addHeader("deviceMemory", "8");
+
+        this.fingerprint = this.tokenProvider.generateDeviceFingerprint(this.request);
+        this.token = this.tokenProvider.generateRefreshToken("benchmark@fabric.bg", this.fingerprint);
+    }
+
+    @Benchmark
+    public String fingerprint() {
+        return this.tokenProvider.generateDeviceFingerprint(this.request);
+    }
+
+    @Benchmark
+    public String parseClaims() {
+        return this.tokenProvider.getEmailFromJwt(this.token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String parseClaimsContended() {
+        return this.tokenProvider.getEmailFromJwt(this.token);
+    }
+
+    @Benchmark
+    public boolean verifyWithFingerprint() {
+        return this.tokenProvider.validateToken(this.token, this.tokenProvider.generateDeviceFingerprint(this.request));
+    }
+}
@@ -0,0 +1,110 @@
+package com.fabric.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule whether or not earlier ones
+ * have completed, and latency is measured from the scheduled send time so a stalled server is not
+ * hidden by a stalled client (coordinated omission).
+ */
+final class ArrivalRateDriver {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+
+    ArrivalRateDriver(HttpClient client) {
+        this.client = client;
+    }
+
+    Result run(String name,
+               int ratePerSecond,
+               Duration duration,
+               Supplier<HttpRequest> requests,
+               Consumer<HttpResponse<String>> onSuccess) {
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong failures = new AtomicLong();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long total = duration.toSeconds() * ratePerSecond;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            HttpRequest request = requests.get();
+            if (request == null) {
+                failures.incrementAndGet();
+                continue;
+            }
+
+            inFlight.add(this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+
+                        if (error != null || response.statusCode() / 100 != 2) {
+                            failures.incrementAndGet();
+                        } else {
+                            onSuccess.accept(response);
+                        }
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new Result(name, total, failures.get(), elapsedNanos, histogram);
+    }
+
+    record Result(String name, long requests, long failures, long elapsedNanos, Histogram histogram) {
+        double failureRatio() {
+            return this.requests == 0 ? 0 : (double) this.failures / this.requests;
+        }
+
+        void print(PrintStream out) {
+            double seconds = this.elapsedNanos / 1e9;
+            out.printf("%-14s requests=%d failures=%d throughput=%.1f/s%n",
+                    this.name, this.requests, this.failures, this.requests / seconds);
+            out.printf("%-14s p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    this.name,
+                    millis(50), millis(90), millis(99), millis(99.9),
+                    this.histogram.getMaxValue() / 1000.0);
+        }
+
+        void writeHistogram(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(this.name + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                this.histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        private double millis(double percentile) {
+            return this.histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
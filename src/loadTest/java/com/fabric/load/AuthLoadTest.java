@@ -0,0 +1,220 @@
+package com.fabric.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mailjet.client.MailjetClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Run with {@code ./gradlew loadTest -PloadTest.rate=50 -PloadTest.durationSeconds=30}.
+ * Latency distributions are written to {@code build/reports/loadTest/*.hgrm}.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthLoadTest {
+    private static final int RATE = Integer.getInteger("loadTest.rate", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadTest.durationSeconds", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadTest.warmupSeconds", 10));
+    private static final int USERS = Integer.getInteger("loadTest.users", 200);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadTest.reportDir", "build/reports/loadTest"));
+    private static final String PASSWORD = "load-test-password";
+    private static final double MAX_FAILURE_RATIO = 0.01;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private MailjetClient mailjetClient;
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong registrations = new AtomicLong();
+    private final Queue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+    private ArrivalRateDriver driver;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "10");
+
+        registry.add("app.jwtSecret", () -> Base64.getEncoder().encodeToString(secret));
+        registry.add("app.jwtExpirationInMs", () -> "900000");
+        registry.add("app.jwtRefreshExpirationInMs", () -> "86400000");
+        registry.add("app.passwordResetExpirationInMs", () -> "900000");
+        registry.add("app.frontendUrl", () -> "http://localhost");
+
+        // The limiter keys on client IP and every request here comes from localhost.
+        for (String route : new String[]{"login", "register", "orderCreate", "econt", "refreshToken"}) {
+            registry.add("app.rateLimit." + route, () -> "1000000");
+        }
+
+        registry.add("app.image.store", () -> "local");
+        registry.add("app.image.cloudStore", () -> "none");
+        registry.add("app.ftpServer", () -> "localhost");
+        registry.add("app.ftpPort", () -> "21");
+        registry.add("app.ftpUser", () -> "load");
+        registry.add("app.ftpPassword", () -> "load");
+        registry.add("cloud.cloudName", () -> "load");
+        registry.add("cloud.apiKey", () -> "load");
+        registry.add("cloud.apiSecret", () -> "load");
+        registry.add("econt.api.urlCities", () -> "http://localhost/cities");
+        registry.add("econt.api.urlOffices", () -> "http://localhost/offices");
+        registry.add("mailjet.api.key", () -> "load");
+        registry.add("mailjet.api.secret", () -> "load");
+        registry.add("mailjet.api.sender", () -> "load@fabric.test");
+    }
+
+    @BeforeAll
+    void seedUsers() throws IOException, InterruptedException {
+        this.driver = new ArrivalRateDriver(this.client);
+
+        for (int i = 0; i < USERS; i++) {
+            HttpResponse<String> response = this.client.send(register(userEmail(i)), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            collectRefreshToken(response);
+        }
+    }
+
+    @Test
+    @Order(1)
+    void login() throws IOException {
+        AtomicLong next = new AtomicLong();
+        measure("login",
+                () -> login(userEmail((int) (next.getAndIncrement() % USERS))),
+                this::collectRefreshToken);
+    }
+
+    @Test
+    @Order(2)
+    void refreshToken() throws IOException {
+        measure("refresh-token", () -> {
+            String token = this.refreshTokens.poll();
+            return token == null ? null : refresh(token);
+        }, this::collectRefreshToken);
+    }
+
+    @Test
+    @Order(3)
+    void register() throws IOException {
+        measure("register",
+                () -> register("load-register-" + this.registrations.incrementAndGet() + "@fabric.test"),
+                response -> {
+                });
+    }
+
+    private void measure(String name,
+                         Supplier<HttpRequest> requests,
+                         Consumer<HttpResponse<String>> onSuccess) throws IOException {
+        this.driver.run(name + "-warmup", RATE, WARMUP, requests, onSuccess);
+
+        ArrivalRateDriver.Result result = this.driver.run(name, RATE, DURATION, requests, onSuccess);
+        result.print(System.out);
+        result.writeHistogram(REPORT_DIR);
+
+        assertTrue(result.failureRatio() <= MAX_FAILURE_RATIO,
+                name + " failed " + result.failures() + " of " + result.requests() + " requests");
+    }
+
+    private void collectRefreshToken(HttpResponse<String> response) {
+        try {
+            JsonNode body = this.objectMapper.readTree(response.body());
+            JsonNode token = body.get("refreshToken");
+            if (token != null && !token.isNull()) {
+                this.refreshTokens.add(token.asText());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest register(String email) {
+        return post("/users/register", Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Load",
+                "lastName", "Tester",
+                "phoneNumber", "+359 888 123 456",
+                "address", "1 Load Street",
+                "city", "Sofia",
+                "region", "Sofia"
+        ));
+    }
+
+    private HttpRequest login(String email) {
+        return post("/users/login", Map.of("email", email, "password", PASSWORD));
+    }
+
+    private HttpRequest refresh(String refreshToken) {
+        return request("/refresh-token")
+                .header("Refresh-Token", refreshToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The refresh token is bound to a fingerprint of these headers, so every request sends the same ones.
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("User-Agent", "fabric-load-test")
+                .header("Accept-Language", "en");
+    }
+
+    private static String userEmail(int index) {
+        return "load-user-" + index + "@fabric.test";
+    }
+}
@@ -60,6 +60,12 @@ public class CacheConfig {
                         .maximumSize(100)
                         .build());
 
+        CaffeineCache salesAnalyticsCache = new CaffeineCache("salesAnalytics",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(10, TimeUnit.MINUTES)
+                        .maximumSize(50)
+                        .build());
+
         cacheManager.setCaches(List.of(
                 userProfileCache,
                 clothingCache,
@@ -68,7 +74,8 @@ public class CacheConfig {
                 econtCitiesCache,
                 econtOfficesCache,
                 ordersCache,
-                clothingByTagCache
+                clothingByTagCache,
+                salesAnalyticsCache
         ));
         return cacheManager;
     }
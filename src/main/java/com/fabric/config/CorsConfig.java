@@ -31,7 +31,8 @@ public class CorsConfig {
                 "Accept",
                 "User-Agent",
                 "Accept-Language",
-                "Refresh-Token"
+                "Refresh-Token",
+                "Idempotency-Key"
         ));
         config.setAllowCredentials(true);
         config.setExposedHeaders(List.of(
@@ -44,7 +45,8 @@ public class CorsConfig {
                 "Accept",
                 "User-Agent",
                 "Accept-Language",
-                "Refresh-Token"
+                "Refresh-Token",
+                "Location"
         ));
         config.setMaxAge(3600L);
 
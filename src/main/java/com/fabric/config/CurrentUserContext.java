@@ -0,0 +1,39 @@
+package com.fabric.config;
+
+import com.fabric.database.dto.user.UserDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Optional;
+
+@Component
+@RequestScope
+public class CurrentUserContext {
+    private boolean resolved;
+    private UserDTO user;
+    private Long userId;
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    public void resolve(UserDTO user, Long userId) {
+        this.user = user;
+        this.userId = userId;
+        this.resolved = true;
+    }
+
+    public Optional<UserDTO> getUser() {
+        return Optional.ofNullable(user);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void clear() {
+        this.user = null;
+        this.userId = null;
+        this.resolved = false;
+    }
+}
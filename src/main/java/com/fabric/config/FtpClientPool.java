@@ -0,0 +1,199 @@
+package com.fabric.config;
+
+import com.fabric.exceptions.ImageUploadException;
+import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPReply;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "app.image.store", havingValue = "ftp", matchIfMissing = true)
+public class FtpClientPool implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(FtpClientPool.class);
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final GenericObjectPool<FTPClient> pool;
+
+    public FtpClientPool(@Value("${app.ftpServer}") String ftpServer,
+                         @Value("${app.ftpPort}") Integer ftpPort,
+                         @Value("${app.ftpUser}") String ftpUser,
+                         @Value("${app.ftpPassword}") String ftpPassword,
+                         @Value("${app.ftpPoolSize:4}") int poolSize,
+                         @Value("${app.ftpKeepAliveInSeconds:60}") long keepAliveInSeconds,
+                         @Value("${app.ftpMaxIdleInSeconds:600}") long maxIdleInSeconds,
+                         @Value("${app.ftpConnectTimeoutInSeconds:10}") long connectTimeoutInSeconds,
+                         @Value("${app.ftpControlTimeoutInSeconds:30}") long controlTimeoutInSeconds,
+                         @Value("${app.ftpDataTimeoutInSeconds:60}") long dataTimeoutInSeconds) {
+        GenericObjectPoolConfig<FTPClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(poolSize);
+        config.setMaxIdle(poolSize);
+        config.setMinIdle(0);
+        config.setMaxWait(Duration.ofSeconds(30));
+        config.setTestOnBorrow(true);
+        config.setTestWhileIdle(true);
+        config.setTimeBetweenEvictionRuns(Duration.ofSeconds(keepAliveInSeconds));
+        config.setMinEvictableIdleDuration(Duration.ofSeconds(maxIdleInSeconds));
+        config.setJmxEnabled(false);
+
+        FtpTimeouts timeouts = new FtpTimeouts(
+                Duration.ofSeconds(connectTimeoutInSeconds),
+                Duration.ofSeconds(controlTimeoutInSeconds),
+                Duration.ofSeconds(dataTimeoutInSeconds));
+        this.pool = new GenericObjectPool<>(new FtpClientFactory(ftpServer, ftpPort, ftpUser, ftpPassword, timeouts), config);
+    }
+
+    public <T> T execute(FtpCallback<T> callback) {
+        IOException lastError = null;
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            FTPClient ftpClient = borrow();
+            try {
+                T result = callback.doWithClient(ftpClient);
+                this.pool.returnObject(ftpClient);
+                return result;
+            } catch (IOException e) {
+                lastError = e;
+                invalidate(ftpClient);
+                logger.warn("FTP session failed (attempt {} of {}): {}", attempt, MAX_ATTEMPTS, e.getMessage());
+            } catch (RuntimeException e) {
+                // A failed transfer leaves the control connection in an unknown state.
+                if (e instanceof ImageUploadException || hasIoCause(e)) {
+                    invalidate(ftpClient);
+                } else {
+                    this.pool.returnObject(ftpClient);
+                }
+                throw e;
+            }
+        }
+
+        throw new ImageUploadException("Error during FTP operation: " + lastError.getMessage(), lastError);
+    }
+
+    @Override
+    public void destroy() {
+        this.pool.close();
+    }
+
+    private FTPClient borrow() {
+        try {
+            return this.pool.borrowObject();
+        } catch (ImageUploadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ImageUploadException("Could not obtain an FTP session: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean hasIoCause(Throwable error) {
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidate(FTPClient ftpClient) {
+        try {
+            this.pool.invalidateObject(ftpClient);
+        } catch (Exception e) {
+            logger.warn("Error discarding FTP session: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface FtpCallback<T> {
+        T doWithClient(FTPClient ftpClient) throws IOException;
+    }
+
+    private record FtpTimeouts(Duration connect, Duration control, Duration data) {
+    }
+
+    private static class FtpClientFactory extends BasePooledObjectFactory<FTPClient> {
+        private final String ftpServer;
+        private final Integer ftpPort;
+        private final String ftpUser;
+        private final String ftpPassword;
+        private final FtpTimeouts timeouts;
+
+        private FtpClientFactory(String ftpServer, Integer ftpPort, String ftpUser, String ftpPassword, FtpTimeouts timeouts) {
+            this.ftpServer = ftpServer;
+            this.ftpPort = ftpPort;
+            this.ftpUser = ftpUser;
+            this.ftpPassword = ftpPassword;
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public FTPClient create() throws IOException {
+            FTPClient ftpClient = new FTPClient();
+            ftpClient.setConnectTimeout((int) this.timeouts.connect().toMillis());
+            ftpClient.setDefaultTimeout((int) this.timeouts.control().toMillis());
+            ftpClient.setDataTimeout(this.timeouts.data());
+            ftpClient.connect(this.ftpServer, this.ftpPort);
+            ftpClient.setSoTimeout((int) this.timeouts.control().toMillis());
+
+            int reply = ftpClient.getReplyCode();
+            if (!FTPReply.isPositiveCompletion(reply)) {
+                ftpClient.disconnect();
+                throw new ImageUploadException("FTP server refused connection. Reply code: " + reply);
+            }
+
+            if (!ftpClient.login(this.ftpUser, this.ftpPassword)) {
+                ftpClient.disconnect();
+                throw new ImageUploadException("Could not login to the FTP server with provided credentials.");
+            }
+
+            ftpClient.enterLocalPassiveMode();
+            ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
+            return ftpClient;
+        }
+
+        @Override
+        public PooledObject<FTPClient> wrap(FTPClient ftpClient) {
+            return new DefaultPooledObject<>(ftpClient);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<FTPClient> pooledObject) {
+            FTPClient ftpClient = pooledObject.getObject();
+            try {
+                return ftpClient.isConnected() && ftpClient.sendNoOp();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void destroyObject(PooledObject<FTPClient> pooledObject) {
+            FTPClient ftpClient = pooledObject.getObject();
+            if (!ftpClient.isConnected()) {
+                return;
+            }
+
+            try {
+                ftpClient.logout();
+            } catch (IOException ignored) {
+            } finally {
+                try {
+                    ftpClient.disconnect();
+                } catch (IOException ex) {
+                    logger.warn("Error disconnecting from FTP server: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+}
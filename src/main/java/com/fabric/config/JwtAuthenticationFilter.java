@@ -1,13 +1,18 @@
 package com.fabric.config;
 
 import com.fabric.service.impl.CustomUserDetailsService;
+import com.fabric.utils.UserStateCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,17 +21,35 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final JwtClaimsContext claimsContext;
+    private final UserStateCache userStateCache;
+    private final boolean claimsPrincipal;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
-                                   CustomUserDetailsService customUserDetailsService) {
+                                   CustomUserDetailsService customUserDetailsService,
+                                   JwtClaimsContext claimsContext,
+                                   UserStateCache userStateCache,
+                                   @Value("${app.security.principalSource:claims}") String principalSource) {
         this.tokenProvider = tokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.claimsContext = claimsContext;
+        this.userStateCache = userStateCache;
+        this.claimsPrincipal = !"database".equalsIgnoreCase(principalSource);
+    }
+
+    // Public routes never need the caller, except the ones below that personalise an anonymous request.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return isPublicEndpoint(request.getRequestURI(), request.getMethod(), request)
+                && !isOptionalAuthEndpoint(request.getRequestURI());
     }
 
     @Override
@@ -35,52 +58,88 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String requestUri = request.getRequestURI();
         String method = request.getMethod();
+        boolean publicEndpoint = isPublicEndpoint(requestUri, method, request);
 
-        if (isPublicEndpoint(requestUri, method, request)) {
+        String jwt = getJwtFromRequest(request);
+
+        if (!StringUtils.hasText(jwt)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String jwt = getJwtFromRequest(request);
-
-        if (StringUtils.hasText(jwt)) {
-            try {
-                tokenProvider.getExpirationDate(jwt);
-            } catch (ExpiredJwtException ex) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\": \"Token has expired\"}");
+        Claims claims;
+        try {
+            claims = tokenProvider.parseToken(jwt);
+        } catch (ExpiredJwtException ex) {
+            if (!publicEndpoint) {
+                writeUnauthorized(response, "Token has expired");
                 return;
-            } catch (JwtException ex) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\": \"Invalid token\"}");
+            }
+            claims = null;
+        } catch (JwtException | IllegalArgumentException ex) {
+            if (!publicEndpoint) {
+                writeUnauthorized(response, "Invalid token");
                 return;
             }
+            claims = null;
+        }
 
-            String currentFingerprint = tokenProvider.generateDeviceFingerprint(request);
-            if (tokenProvider.validateToken(jwt, currentFingerprint) &&
-                    tokenProvider.isTokenTypeValid(jwt, "access")) {
-
-                String email = tokenProvider.getEmailFromJwt(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        // Optional-auth endpoints never reject a bad token, but a good one is still published for them.
+        if (claims != null && tokenProvider.isValidAccessToken(claims, request)) {
+            claimsContext.setClaims(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (!publicEndpoint) {
+                UsernamePasswordAuthenticationToken authentication = claimsPrincipal
+                        ? authenticateFromClaims(claims)
+                        : authenticateFromDatabase(claims.getSubject());
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        String email = claims.getSubject();
+        Optional<UserStateCache.UserState> state = userStateCache.get(email);
+        if (state.isEmpty()) {
+            return null;
+        }
+
+        // Roles dropped since the token was issued are not honoured.
+        List<?> tokenRoles = claims.get("roles", List.class);
+        List<GrantedAuthority> authorities = tokenRoles == null ? List.of() : tokenRoles.stream()
+                .map(String::valueOf)
+                .filter(state.get().roles()::contains)
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        return new UsernamePasswordAuthenticationToken(email, null, authorities);
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(String email) {
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private void writeUnauthorized(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+
     private boolean isPublicEndpoint(String uri, String method, HttpServletRequest request) {
         if ("OPTIONS".equalsIgnoreCase(method)) {
             return true;
         }
         if ("GET".equalsIgnoreCase(method) && request.getServletPath().startsWith("/clothes/")) {
+            return !request.getServletPath().startsWith("/clothes/jobs/");
+        }
+        if ("GET".equalsIgnoreCase(method) && request.getServletPath().startsWith("/images/")) {
             return true;
         }
         return uri.equals("/users/login") ||
@@ -93,6 +152,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 uri.equals("/ping");
     }
 
+    private boolean isOptionalAuthEndpoint(String uri) {
+        return uri.equals("/orders/create");
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
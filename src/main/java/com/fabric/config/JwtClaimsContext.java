@@ -0,0 +1,30 @@
+package com.fabric.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequestScope
+public class JwtClaimsContext {
+    private Claims claims;
+
+    public Optional<Claims> getClaims() {
+        return Optional.ofNullable(claims);
+    }
+
+    public void setClaims(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getEmail() {
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public List<?> getRoles() {
+        return claims != null ? claims.get("roles", List.class) : null;
+    }
+}
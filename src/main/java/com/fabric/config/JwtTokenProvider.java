@@ -16,11 +16,15 @@ import org.springframework.util.StringUtils;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,50 +43,81 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    private JwtParser jwtParser;
+
+    private ThreadLocal<Mac> fingerprintMac;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+
+        SecretKeySpec fingerprintKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.fingerprintMac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac hmacSha256 = Mac.getInstance("HmacSHA256");
+                hmacSha256.init(fingerprintKey);
+                return hmacSha256;
+            } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+                throw new IllegalStateException("Error initializing HMAC", ex);
+            }
+        });
     }
 
     public String generateAccessToken(Authentication authentication, String deviceFingerprint) {
         CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
+        List<String> roles = customUserDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return issueAccessToken(customUserDetails.getUsername(), roles, deviceFingerprint).token();
+    }
+
+    public String generateRefreshToken(String email, String deviceFingerprint) {
+        return issueRefreshToken(email, deviceFingerprint).token();
+    }
+
+    public IssuedToken issueAccessToken(String email, Collection<String> roles, String deviceFingerprint) {
         Instant now = Instant.now();
-        Instant expiryDate = now.plusMillis(jwtExpirationInMs);
+        // The exp claim only keeps whole seconds.
+        Instant expiryDate = now.plusMillis(jwtExpirationInMs).truncatedTo(ChronoUnit.SECONDS);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
-                .setSubject(customUserDetails.getUsername())
-                .setId(UUID.randomUUID().toString())
+        String token = Jwts.builder()
+                .setSubject(email)
+                .setId(tokenId)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiryDate))
                 .claim("type", "access")
-                .claim("roles", customUserDetails.getAuthorities()
-                        .stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .toList())
+                .claim("roles", List.copyOf(roles))
                 .claim("fingerprint", deviceFingerprint)
                 .signWith(key)
                 .compact();
+        return new IssuedToken(token, tokenId, expiryDate);
     }
 
-    public String generateRefreshToken(String email, String deviceFingerprint) {
+    public IssuedToken issueRefreshToken(String email, String deviceFingerprint) {
         Instant now = Instant.now();
-        Instant expiryDate = now.plusMillis(jwtRefreshExpirationInMs);
+        Instant expiryDate = now.plusMillis(jwtRefreshExpirationInMs).truncatedTo(ChronoUnit.SECONDS);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .setSubject(email)
-                .setId(UUID.randomUUID().toString())
+                .setId(tokenId)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiryDate))
                 .claim("type", "refresh")
                 .claim("fingerprint", deviceFingerprint)
                 .signWith(key)
                 .compact();
+        return new IssuedToken(token, tokenId, expiryDate);
     }
 
-
     public Instant getExpirationDate(String token) {
         Claims claims = parseToken(token);
         return claims.getExpiration().toInstant();
@@ -155,43 +190,36 @@ public class JwtTokenProvider {
         return hashFunction(fingerprint);
     }
 
+    public boolean isValidAccessToken(Claims claims, HttpServletRequest request) {
+        String currentFingerprint = generateDeviceFingerprint(request);
+        return currentFingerprint.equals(claims.get("fingerprint", String.class)) &&
+                "access".equals(claims.get("type", String.class));
+    }
+
     public boolean isValidToken(String token, HttpServletRequest request) {
         if (token == null) {
             return false;
         }
 
-        String currentFingerprint = generateDeviceFingerprint(request);
-        return this.validateToken(token, currentFingerprint) &&
-                this.isTokenTypeValid(token, "access");
+        try {
+            return isValidAccessToken(parseToken(token), request);
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+            return false;
+        }
     }
 
-    protected Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+    public Claims parseToken(String token) {
+        return jwtParser.parseClaimsJws(token)
                 .getBody();
     }
 
     private String hashFunction(String input) {
-        try {
-            byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-            SecretKeySpec secretKeySpec = new SecretKeySpec(keyBytes, "HmacSHA256");
-            Mac hmacSha256 = Mac.getInstance("HmacSHA256");
-
-            hmacSha256.init(secretKeySpec);
-
-            byte[] hash = hmacSha256.doFinal(input.getBytes());
+        // doFinal resets the Mac, so each thread can reuse its instance.
+        byte[] hash = fingerprintMac.get().doFinal(input.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
 
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
-            throw new RuntimeException("Error computing HMAC", ex);
-        }
+    public record IssuedToken(String token, String id, Instant expiresAt) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.fabric.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteLimit> routes;
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitFilter(@Value("${app.rateLimit.windowInSeconds:60}") long windowInSeconds,
+                           @Value("${app.rateLimit.maxClients:100000}") long maxClients,
+                           @Value("${app.rateLimit.login:10}") long loginCapacity,
+                           @Value("${app.rateLimit.register:5}") long registerCapacity,
+                           @Value("${app.rateLimit.orderCreate:10}") long orderCreateCapacity,
+                           @Value("${app.rateLimit.econt:60}") long econtCapacity,
+                           @Value("${app.rateLimit.refreshToken:10}") long refreshTokenCapacity) {
+        Duration window = Duration.ofSeconds(windowInSeconds);
+        this.routes = List.of(
+                new RouteLimit("login", "/users/login", loginCapacity, window),
+                new RouteLimit("register", "/users/register", registerCapacity, window),
+                new RouteLimit("orderCreate", "/orders/create", orderCreateCapacity, window),
+                new RouteLimit("econt", "/econt/**", econtCapacity, window),
+                new RouteLimit("refreshToken", "/refresh-token", refreshTokenCapacity, window)
+        );
+
+        // An idle client's bucket is full again after one window, so dropping it loses nothing.
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equalsIgnoreCase(request.getMethod()) || findRoute(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteLimit route = findRoute(request.getRequestURI());
+        // Behind the proxy Tomcat resolves this from X-Forwarded-For (server.forward-headers-strategy).
+        String key = route.name() + ":" + request.getRemoteAddr();
+        Bucket bucket = this.buckets.get(key, k -> route.newBucket());
+
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()));
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Too many requests. Please try again later.\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RouteLimit findRoute(String uri) {
+        for (RouteLimit route : this.routes) {
+            if (this.pathMatcher.match(route.pattern(), uri)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private record RouteLimit(String name, String pattern, long capacity, Duration window) {
+        private Bucket newBucket() {
+            Bandwidth limit = Bandwidth.classic(this.capacity, Refill.intervally(this.capacity, this.window));
+            return Bucket.builder().addLimit(limit).build();
+        }
+    }
+}
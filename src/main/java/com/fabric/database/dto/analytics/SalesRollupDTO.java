@@ -0,0 +1,85 @@
+package com.fabric.database.dto.analytics;
+
+import java.time.LocalDate;
+
+public class SalesRollupDTO {
+    private LocalDate day;
+
+    private String type;
+
+    private String category;
+
+    private String gender;
+
+    private String size;
+
+    private long unitsSold;
+
+    private double revenue;
+
+    public SalesRollupDTO(LocalDate day, String type, String category, String gender, String size, long unitsSold, double revenue) {
+        this.day = day;
+        this.type = type;
+        this.category = category;
+        this.gender = gender;
+        this.size = size;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getSize() {
+        return size;
+    }
+
+    public void setSize(String size) {
+        this.size = size;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public void setUnitsSold(long unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
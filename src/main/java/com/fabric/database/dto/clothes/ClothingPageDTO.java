@@ -1,6 +1,7 @@
 package com.fabric.database.dto.clothes;
 
 import com.fabric.database.entity.enums.Type;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
@@ -44,4 +45,17 @@ public class ClothingPageDTO extends ClothingBaseDTO {
     public void setImages(List<ImagePageDTO> images) {
         this.images = images;
     }
+
+    @JsonProperty(value = "thumbnail", access = JsonProperty.Access.READ_ONLY)
+    public String getThumbnail() {
+        if (images == null || images.isEmpty()) {
+            return null;
+        }
+
+        return images.stream()
+                .filter(image -> "front".equals(image.getSide()))
+                .findFirst()
+                .orElse(images.get(0))
+                .getThumbnailPath();
+    }
 }
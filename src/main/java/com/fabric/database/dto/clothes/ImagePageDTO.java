@@ -5,6 +5,10 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class ImagePageDTO {
     private String publicId;
 
+    private String cardPath;
+
+    private String thumbnailPath;
+
     public String getSide() {
         char side = publicId.charAt(publicId.length() - 1);
         if (side == 'F') {
@@ -18,6 +22,24 @@ public class ImagePageDTO {
         return "/" + this.publicId;
     }
 
+    @JsonProperty("cardPath")
+    public String getCardPath() {
+        return this.cardPath != null ? this.cardPath : getPath();
+    }
+
+    public void setCardPath(String cardPath) {
+        this.cardPath = cardPath;
+    }
+
+    @JsonProperty("thumbnailPath")
+    public String getThumbnailPath() {
+        return this.thumbnailPath != null ? this.thumbnailPath : getPath();
+    }
+
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
+    }
+
     public String getPublicId() {
         return publicId;
     }
@@ -0,0 +1,69 @@
+package com.fabric.database.dto.ingestion;
+
+import com.fabric.database.entity.enums.IngestionJobStatus;
+import com.fabric.database.entity.enums.IngestionJobType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class IngestionJobDTO {
+    private UUID id;
+
+    private IngestionJobType type;
+
+    private IngestionJobStatus status;
+
+    private Long clothingId;
+
+    private String message;
+
+    private int attempts;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    public IngestionJobDTO(UUID id, IngestionJobType type, IngestionJobStatus status, Long clothingId,
+                           String message, int attempts, Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.clothingId = clothingId;
+        this.message = message;
+        this.attempts = attempts;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public IngestionJobType getType() {
+        return type;
+    }
+
+    public IngestionJobStatus getStatus() {
+        return status;
+    }
+
+    public Long getClothingId() {
+        return clothingId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fabric.database.dto.order;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class OrderStatusBatchDTO {
+    @NotEmpty(message = "Order ids cannot be empty")
+    @Size(max = 500, message = "At most 500 orders can be updated at once")
+    private List<@NotNull Long> ids;
+
+    @NotBlank(message = "Status must not be empty")
+    private String status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fabric.database.dto.order;
+
+public enum OrderStatusUpdateResult {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND
+}
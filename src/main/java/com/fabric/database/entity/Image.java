@@ -1,5 +1,6 @@
 package com.fabric.database.entity;
 
+import com.fabric.database.entity.enums.ImageVariant;
 import jakarta.persistence.*;
 
 @Entity
@@ -15,6 +16,15 @@ public class Image {
     @Column(unique = true, nullable = false)
     private String publicId;
 
+    @Column(name = "card_path")
+    private String cardPath;
+
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @ManyToOne
     @JoinColumn(name = "cloth_id", referencedColumnName = "id")
     private Clothing cloth;
@@ -25,6 +35,8 @@ public class Image {
     public Image(String publicId, Clothing cloth) {
         this.publicId = publicId;
         this.cloth = cloth;
+        this.cardPath = ImageVariant.CARD.getPath(publicId);
+        this.thumbnailPath = ImageVariant.THUMBNAIL.getPath(publicId);
     }
 
     public long getId() {
@@ -51,6 +63,30 @@ public class Image {
         this.publicId = publicId;
     }
 
+    public String getCardPath() {
+        return cardPath;
+    }
+
+    public void setCardPath(String cardPath) {
+        this.cardPath = cardPath;
+    }
+
+    public String getThumbnailPath() {
+        return thumbnailPath;
+    }
+
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public Clothing getCloth() {
         return cloth;
     }
@@ -0,0 +1,227 @@
+package com.fabric.database.entity;
+
+import com.fabric.database.entity.enums.IngestionJobStatus;
+import com.fabric.database.entity.enums.IngestionJobType;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ingestion_jobs",
+        indexes = @Index(name = "idx_ingestion_jobs_status_updated_at", columnList = "status, updated_at"))
+public class IngestionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IngestionJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IngestionJobStatus status;
+
+    @Column(name = "clothing_id")
+    private Long clothingId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "front_image")
+    private byte[] frontImage;
+
+    @Column(name = "front_image_name")
+    private String frontImageName;
+
+    @Column(name = "front_image_content_type")
+    private String frontImageContentType;
+
+    @Column(name = "back_image")
+    private byte[] backImage;
+
+    @Column(name = "back_image_name")
+    private String backImageName;
+
+    @Column(name = "back_image_content_type")
+    private String backImageContentType;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "submitted_by")
+    private String submittedBy;
+
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public IngestionJob() {
+    }
+
+    public IngestionJob(IngestionJobType type, Long clothingId, String payload, String submittedBy) {
+        this.type = type;
+        this.status = IngestionJobStatus.PENDING;
+        this.clothingId = clothingId;
+        this.payload = payload;
+        this.submittedBy = submittedBy;
+        this.createdAt = Instant.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public IngestionJobType getType() {
+        return type;
+    }
+
+    public void setType(IngestionJobType type) {
+        this.type = type;
+    }
+
+    public IngestionJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IngestionJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getClothingId() {
+        return clothingId;
+    }
+
+    public void setClothingId(Long clothingId) {
+        this.clothingId = clothingId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public byte[] getFrontImage() {
+        return frontImage;
+    }
+
+    public void setFrontImage(byte[] frontImage) {
+        this.frontImage = frontImage;
+    }
+
+    public String getFrontImageName() {
+        return frontImageName;
+    }
+
+    public void setFrontImageName(String frontImageName) {
+        this.frontImageName = frontImageName;
+    }
+
+    public String getFrontImageContentType() {
+        return frontImageContentType;
+    }
+
+    public void setFrontImageContentType(String frontImageContentType) {
+        this.frontImageContentType = frontImageContentType;
+    }
+
+    public byte[] getBackImage() {
+        return backImage;
+    }
+
+    public void setBackImage(byte[] backImage) {
+        this.backImage = backImage;
+    }
+
+    public String getBackImageName() {
+        return backImageName;
+    }
+
+    public void setBackImageName(String backImageName) {
+        this.backImageName = backImageName;
+    }
+
+    public String getBackImageContentType() {
+        return backImageContentType;
+    }
+
+    public void setBackImageContentType(String backImageContentType) {
+        this.backImageContentType = backImageContentType;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public void setSubmittedBy(String submittedBy) {
+        this.submittedBy = submittedBy;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -5,13 +5,17 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_token_id", columnList = "token_id", unique = true),
+                @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+        })
 public class RefreshToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column
+    @Column(nullable = false)
     private String tokenId;
 
     @Column
@@ -0,0 +1,33 @@
+package com.fabric.database.entity.enums;
+
+public enum ImageVariant {
+    FULL(1048, 1292, ""),
+    CARD(524, 646, "_card"),
+    THUMBNAIL(262, 323, "_thumb");
+
+    private final int width;
+    private final int height;
+    private final String suffix;
+
+    ImageVariant(int width, int height, String suffix) {
+        this.width = width;
+        this.height = height;
+        this.suffix = suffix;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getPath(String publicId) {
+        return "/" + publicId + suffix;
+    }
+
+    public String getFileName(String publicId) {
+        return publicId + suffix + ".webp";
+    }
+}
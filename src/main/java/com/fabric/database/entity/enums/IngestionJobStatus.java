@@ -0,0 +1,8 @@
+package com.fabric.database.entity.enums;
+
+public enum IngestionJobStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.fabric.database.entity.enums;
+
+public enum IngestionJobType {
+    CREATE,
+    EDIT
+}
@@ -0,0 +1,9 @@
+package com.fabric.database.repository;
+
+import com.fabric.database.entity.Image;
+
+import java.util.List;
+
+public interface ImageBatchRepository {
+    void upsertAll(List<Image> images);
+}
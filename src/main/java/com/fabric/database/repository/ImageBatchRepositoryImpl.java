@@ -0,0 +1,37 @@
+package com.fabric.database.repository;
+
+import com.fabric.database.entity.Image;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+public class ImageBatchRepositoryImpl implements ImageBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final String UPSERT_QUERY = "INSERT INTO images (public_id, path, card_path, thumbnail_path, content_hash, cloth_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (public_id) DO UPDATE SET " +
+            "path = EXCLUDED.path, " +
+            "card_path = COALESCE(EXCLUDED.card_path, images.card_path), " +
+            "thumbnail_path = COALESCE(EXCLUDED.thumbnail_path, images.thumbnail_path), " +
+            "content_hash = COALESCE(EXCLUDED.content_hash, images.content_hash)";
+
+    public ImageBatchRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void upsertAll(List<Image> images) {
+        this.jdbcTemplate.batchUpdate(UPSERT_QUERY, images, BATCH_SIZE, (ps, image) -> {
+            ps.setString(1, image.getPublicId());
+            ps.setString(2, image.getPath());
+            ps.setString(3, image.getCardPath());
+            ps.setString(4, image.getThumbnailPath());
+            ps.setString(5, image.getContentHash());
+            ps.setLong(6, image.getCloth().getId());
+        });
+    }
+}
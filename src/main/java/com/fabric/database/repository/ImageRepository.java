@@ -6,14 +6,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ImageRepository extends JpaRepository<Image, Long> {
+public interface ImageRepository extends JpaRepository<Image, Long>, ImageBatchRepository {
     @Query("SELECT i FROM Image i WHERE i.publicId IN :publicIds")
-    List<Image> findAllByPublicIds(@Param("publicIds") List<String> publicIds);
+    List<Image> findAllByPublicIds(@Param("publicIds") Collection<String> publicIds);
 
     Optional<Image> findByPublicId(String publicId);
-
 }
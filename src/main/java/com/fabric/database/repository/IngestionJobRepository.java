@@ -0,0 +1,73 @@
+package com.fabric.database.repository;
+
+import com.fabric.database.dto.ingestion.IngestionJobDTO;
+import com.fabric.database.entity.IngestionJob;
+import com.fabric.database.entity.enums.IngestionJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IngestionJobRepository extends JpaRepository<IngestionJob, UUID> {
+    @Query("SELECT new com.fabric.database.dto.ingestion.IngestionJobDTO(j.id, j.type, j.status, j.clothingId, j.message, j.attempts, j.createdAt, j.updatedAt) " +
+            "FROM IngestionJob j WHERE j.id = :id")
+    Optional<IngestionJobDTO> findStatusById(@Param("id") UUID id);
+
+    @Query("SELECT j.id FROM IngestionJob j WHERE j.status = :status AND j.updatedAt < :before ORDER BY j.updatedAt")
+    List<UUID> findIdsByStatusUpdatedBefore(@Param("status") IngestionJobStatus status,
+                                            @Param("before") Instant before,
+                                            Pageable pageable);
+
+    @Query("SELECT j.id FROM IngestionJob j WHERE j.status = :status AND COALESCE(j.leaseExpiresAt, j.updatedAt) < :now " +
+            "ORDER BY j.updatedAt")
+    List<UUID> findIdsByStatusLeaseExpiredBefore(@Param("status") IngestionJobStatus status,
+                                                 @Param("now") Instant now,
+                                                 Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestionJob j SET j.status = :to, j.attempts = j.attempts + 1, j.leaseOwner = :owner, " +
+            "j.leaseExpiresAt = :leaseExpiresAt, j.updatedAt = :now WHERE j.id = :id AND j.status = :from")
+    int claim(@Param("id") UUID id,
+              @Param("from") IngestionJobStatus from,
+              @Param("to") IngestionJobStatus to,
+              @Param("owner") String owner,
+              @Param("leaseExpiresAt") Instant leaseExpiresAt,
+              @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestionJob j SET j.leaseExpiresAt = :leaseExpiresAt WHERE j.id = :id AND j.leaseOwner = :owner")
+    int renewLease(@Param("id") UUID id,
+                   @Param("owner") String owner,
+                   @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestionJob j SET j.status = :to, j.leaseOwner = null, j.leaseExpiresAt = null, j.updatedAt = :now " +
+            "WHERE j.id IN :ids AND j.status = :from AND COALESCE(j.leaseExpiresAt, j.updatedAt) < :now")
+    int releaseExpired(@Param("ids") List<UUID> ids,
+                       @Param("from") IngestionJobStatus from,
+                       @Param("to") IngestionJobStatus to,
+                       @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IngestionJob j SET j.status = :status, j.message = :message, j.updatedAt = :now, " +
+            "j.leaseOwner = null, j.leaseExpiresAt = null, j.frontImage = null, j.backImage = null " +
+            "WHERE j.id = :id AND j.leaseOwner = :owner")
+    int finish(@Param("id") UUID id,
+               @Param("owner") String owner,
+               @Param("status") IngestionJobStatus status,
+               @Param("message") String message,
+               @Param("now") Instant now);
+}
@@ -9,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT new com.fabric.database.dto.order.OrderPageDTO(" +
@@ -31,5 +34,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             "GROUP BY o.id, o.firstName, o.lastName, o.status, o.totalPrice, o.createdAt")
     Page<OrderPageDTO> findAllOrderPageDTO(Pageable pageable);
 
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.clothing WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 
 }
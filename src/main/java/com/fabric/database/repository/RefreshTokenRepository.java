@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -14,9 +15,32 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByTokenId(String tokenId);
 
+    @Transactional
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteByExpiryDateBefore(@Param("now") Instant now);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.tokenId = :tokenId AND rt.revoked = false")
+    int revokeByTokenId(@Param("tokenId") String tokenId);
 
-}
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH revoked AS (
+                UPDATE refresh_tokens SET revoked = true
+                WHERE token_id = :tokenId AND revoked = false AND expiry_date > :now
+                RETURNING user_email
+            )
+            INSERT INTO refresh_tokens (token_id, user_email, expiry_date, revoked)
+            SELECT :newTokenId, user_email, :expiryDate, false FROM revoked
+            """, nativeQuery = true)
+    int rotate(@Param("tokenId") String tokenId,
+               @Param("newTokenId") String newTokenId,
+               @Param("expiryDate") Instant expiryDate,
+               @Param("now") Instant now);
 
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id FROM refresh_tokens WHERE expiry_date < :now LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,37 @@
+package com.fabric.database.repository;
+
+import com.fabric.database.dto.analytics.SalesRollupDTO;
+import com.fabric.database.entity.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (sale_day, type, category, gender, size, units_sold, revenue) " +
+            "VALUES (:day, :type, :category, :gender, :size, :units, :revenue) " +
+            "ON CONFLICT (sale_day, type, category, gender, size) DO UPDATE SET " +
+            "units_sold = sales_rollups.units_sold + EXCLUDED.units_sold, " +
+            "revenue = sales_rollups.revenue + EXCLUDED.revenue",
+            nativeQuery = true)
+    void increment(@Param("day") LocalDate day,
+                   @Param("type") String type,
+                   @Param("category") String category,
+                   @Param("gender") String gender,
+                   @Param("size") String size,
+                   @Param("units") long units,
+                   @Param("revenue") double revenue);
+
+    @Query("SELECT new com.fabric.database.dto.analytics.SalesRollupDTO(" +
+            "r.saleDay, r.type, r.category, r.gender, r.size, r.unitsSold, r.revenue) " +
+            "FROM SalesRollup r " +
+            "WHERE r.saleDay BETWEEN :from AND :to " +
+            "ORDER BY r.saleDay, r.type, r.category")
+    List<SalesRollupDTO> findRollups(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
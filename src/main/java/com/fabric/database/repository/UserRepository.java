@@ -2,8 +2,11 @@ package com.fabric.database.repository;
 
 import com.fabric.database.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.id, r FROM User u JOIN u.roles r WHERE u.email = :email")
+    List<Object[]> findIdAndRolesByEmail(@Param("email") String email);
 }
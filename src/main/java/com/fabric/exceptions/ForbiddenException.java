@@ -6,6 +6,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.FORBIDDEN)
 public class ForbiddenException extends RuntimeException {
     public ForbiddenException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
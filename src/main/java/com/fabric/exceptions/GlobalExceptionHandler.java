@@ -4,7 +4,9 @@ import com.fabric.database.dto.ApiError;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -42,6 +44,18 @@ public class GlobalExceptionHandler {
                 .body(buildApiError("Invalid Credentials", List.of(ex.getMessage()), HttpStatus.UNAUTHORIZED));
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthenticationException(AuthenticationException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(buildApiError("Unauthorized", List.of(ex.getMessage()), HttpStatus.UNAUTHORIZED));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiError> handleAccessDeniedException(AccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(buildApiError("Forbidden", List.of("Access denied. Admin privileges required."), HttpStatus.FORBIDDEN));
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiError> handleEnumParsingErrors(HttpMessageNotReadableException ex) {
         return ResponseEntity.badRequest()
@@ -74,6 +88,12 @@ public class GlobalExceptionHandler {
                 .body(buildApiError("Bad Request", List.of(ex.getMessage()), HttpStatus.BAD_REQUEST));
     }
 
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(buildApiError("Idempotency Key Mismatch", List.of(ex.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
     @ExceptionHandler(InvalidPhoneNumberException.class)
     public ResponseEntity<ApiError> handleInvalidPhoneNumberException(InvalidPhoneNumberException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -104,6 +124,12 @@ public class GlobalExceptionHandler {
                 .body(buildApiError("Image Upload Error", List.of(ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(buildApiError("Service Unavailable", List.of(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,7 @@
+package com.fabric.exceptions;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message, null, false, false);
+    }
+}
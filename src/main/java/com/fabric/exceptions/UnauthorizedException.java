@@ -6,6 +6,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.UNAUTHORIZED)
 public class UnauthorizedException extends RuntimeException {
     public UnauthorizedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
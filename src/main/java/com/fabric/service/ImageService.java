@@ -4,6 +4,7 @@ import com.fabric.database.entity.Clothing;
 import com.fabric.database.entity.Image;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ImageService {
@@ -11,13 +12,13 @@ public interface ImageService {
 
     void deleteAll(List<String> publicIds);
 
-    void saveImageInCloud(MultipartFile file, Clothing clothing, String side);
-
-    void saveImageInHost(MultipartFile file, Clothing clothing, String side);
-
     String getUniqueImageId(Clothing clothing, String side);
 
+    String getContentHash(MultipartFile file);
+
     Image findByPublicId(String path);
 
+    List<Image> findAllByPublicIds(Collection<String> publicIds);
+
     void deleteImage(Image image);
 }
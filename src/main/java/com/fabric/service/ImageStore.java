@@ -0,0 +1,19 @@
+package com.fabric.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface ImageStore {
+    String HOST = "hostImageStore";
+    String CLOUD = "cloudImageStore";
+
+    void save(String publicId, MultipartFile file);
+
+    void delete(String publicId);
+
+    default Optional<Path> resolve(String fileName) {
+        return Optional.empty();
+    }
+}
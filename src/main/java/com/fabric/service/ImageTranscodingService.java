@@ -0,0 +1,21 @@
+package com.fabric.service;
+
+import com.fabric.database.entity.enums.ImageVariant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ImageTranscodingService {
+    void transcodeToWebp(InputStream source, VariantSink sink);
+
+    @FunctionalInterface
+    interface VariantSink {
+        void write(ImageVariant variant, WebpEncoding encoding) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface WebpEncoding {
+        void writeTo(OutputStream target) throws IOException;
+    }
+}
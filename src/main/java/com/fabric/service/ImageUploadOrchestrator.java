@@ -0,0 +1,13 @@
+package com.fabric.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface ImageUploadOrchestrator {
+    CompletableFuture<Void> uploadAll(List<UploadRequest> uploads);
+
+    record UploadRequest(String publicId, MultipartFile file, boolean newImage) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.fabric.service;
+
+import com.fabric.database.dto.clothes.ClothingEditValidationDTO;
+import com.fabric.database.dto.clothes.ClothingValidationDTO;
+import com.fabric.database.dto.ingestion.IngestionJobDTO;
+
+import java.util.UUID;
+
+public interface IngestionJobService {
+    UUID submitCreate(ClothingValidationDTO clothingDTO, String submittedBy);
+
+    UUID submitEdit(Long clothingId, ClothingEditValidationDTO clothingDTO, String submittedBy);
+
+    IngestionJobDTO getJob(UUID id);
+}
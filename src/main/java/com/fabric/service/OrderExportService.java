@@ -0,0 +1,7 @@
+package com.fabric.service;
+
+import java.io.OutputStream;
+
+public interface OrderExportService {
+    void exportOrders(OutputStream outputStream, String format);
+}
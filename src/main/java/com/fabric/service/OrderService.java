@@ -2,11 +2,15 @@ package com.fabric.service;
 
 import com.fabric.database.dto.order.OrderDTO;
 import com.fabric.database.dto.order.OrderPageDTO;
+import com.fabric.database.dto.order.OrderStatusUpdateResult;
 import com.fabric.database.dto.order.OrdersDetailsDTO;
 import com.fabric.database.dto.user.UserDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface OrderService {
     void createOrder(OrderDTO dto, UserDTO userDTO);
 
@@ -20,5 +24,7 @@ public interface OrderService {
 
     boolean updateStatus(Long id, String status);
 
+    Map<Long, OrderStatusUpdateResult> updateStatuses(List<Long> ids, String status);
+
     Page<OrderPageDTO> findOrdersByUser(String userEmail, Pageable pageable);
 }
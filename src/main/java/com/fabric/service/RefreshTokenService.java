@@ -7,5 +7,7 @@ public interface RefreshTokenService {
 
     boolean isValid(String tokenId);
 
-    void revokeToken(String tokenId);
+    boolean revokeToken(String tokenId);
+
+    boolean rotateToken(String tokenId, String newTokenId, Instant newExpiryDate);
 }
@@ -0,0 +1,15 @@
+package com.fabric.service;
+
+import com.fabric.database.dto.analytics.SalesRollupDTO;
+import com.fabric.database.entity.OrderItem;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+    void recordConfirmedItems(List<OrderItem> items);
+
+    void revokeConfirmedItems(List<OrderItem> items);
+
+    List<SalesRollupDTO> getRollups(LocalDate from, LocalDate to);
+}
@@ -9,16 +9,17 @@ import com.fabric.database.dto.user.UserRegistrationDTO;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     void registerUser(UserRegistrationDTO registrationDTO);
 
     UserDTO findByEmail(String email);
 
-    UserDTO validateAdmin(HttpServletRequest request);
-
     UserDTO validateUser(HttpServletRequest request);
 
+    Optional<UserDTO> findCurrentUser(HttpServletRequest request);
+
     UserProfileDTO getUserProfile(String email);
 
     List<String> getUserRoles(String accessToken);
@@ -6,6 +6,7 @@ import com.fabric.database.entity.Image;
 import com.fabric.database.entity.OrderItem;
 import com.fabric.database.entity.Tag;
 import com.fabric.database.entity.enums.Category;
+import com.fabric.database.entity.enums.ImageVariant;
 import com.fabric.database.entity.enums.Type;
 import com.fabric.database.repository.ClothingRepository;
 import com.fabric.database.repository.TagRepository;
@@ -14,6 +15,7 @@ import com.fabric.exceptions.ImageUploadFailedException;
 import com.fabric.exceptions.NotFoundException;
 import com.fabric.service.ClothingService;
 import com.fabric.service.ImageService;
+import com.fabric.service.ImageUploadOrchestrator;
 import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -22,9 +24,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 
@@ -34,15 +38,18 @@ public class ClothingServiceImpl implements ClothingService {
     private final TagRepository tagRepository;
     private final ImageService imageService;
     private final ModelMapper modelMapper;
+    private final ImageUploadOrchestrator imageUploadOrchestrator;
 
     public ClothingServiceImpl(ClothingRepository clothingRepository,
                                TagRepository tagRepository,
                                ImageService imageService,
-                               ModelMapper modelMapper) {
+                               ModelMapper modelMapper,
+                               ImageUploadOrchestrator imageUploadOrchestrator) {
         this.clothingRepository = clothingRepository;
         this.tagRepository = tagRepository;
         this.imageService = imageService;
         this.modelMapper = modelMapper;
+        this.imageUploadOrchestrator = imageUploadOrchestrator;
     }
 
     @Transactional
@@ -60,18 +67,29 @@ public class ClothingServiceImpl implements ClothingService {
         }
 
         Clothing clothing;
+        Map<String, Image> currentImages = new HashMap<>();
 
         if (optional.isPresent() && !optional.get().isSelected()) {
             clothing = optional.get();
             clothing.setSelected(true);
 
-            List<String> publicIds = clothing.getImages()
-                    .stream()
-                    .map(Image::getPublicId)
-                    .toList();
-            this.imageService.deleteAll(publicIds);
-
-            clothing.getImages().clear();
+            Set<String> retainedPublicIds = Set.of(
+                    this.imageService.getUniqueImageId(clothing, "F"),
+                    this.imageService.getUniqueImageId(clothing, "B")
+            );
+
+            List<String> stalePublicIds = new ArrayList<>();
+            clothing.getImages().forEach(image -> {
+                if (retainedPublicIds.contains(image.getPublicId())) {
+                    currentImages.put(image.getPublicId(), image);
+                } else {
+                    stalePublicIds.add(image.getPublicId());
+                }
+            });
+
+            if (!stalePublicIds.isEmpty()) {
+                this.imageService.deleteAll(stalePublicIds);
+            }
         } else {
             clothing = new Clothing(clothingDTO.getName(),
                     clothingDTO.getDescription(),
@@ -87,34 +105,24 @@ public class ClothingServiceImpl implements ClothingService {
             clothing.setDiscountPrice(discountPriceByType);
         }
 
-        List<Image> images = new ArrayList<>();
-
-
-        CompletableFuture<String> cloudinaryUpload = CompletableFuture.supplyAsync(() -> {
-            addNewImagesToCloud(clothingDTO, clothing);
-            return "Cloudinary";
-        });
+        List<ImageUpload> uploads = collectChangedImages(clothingDTO, clothing, currentImages);
 
-        CompletableFuture<String> hostUpload = CompletableFuture.supplyAsync(() -> {
-            addNewImagesToHost(clothingDTO, clothing);
-            return "Host";
-        });
+        CompletableFuture<Void> upload = this.imageUploadOrchestrator.uploadAll(toUploadRequests(uploads));
 
         processTags(clothingDTO.getTags(), clothing);
 
-        return CompletableFuture.allOf(hostUpload, cloudinaryUpload)
+        return upload
                 .thenApply(successSource -> {
-                    images.addAll(List.of(
-                            new Image(this.imageService.getUniqueImageId(clothing, "F"), clothing),
-                            new Image(this.imageService.getUniqueImageId(clothing, "B"), clothing)
-                    ));
+                    currentImages.computeIfAbsent(this.imageService.getUniqueImageId(clothing, "F"), publicId -> new Image(publicId, clothing));
+                    currentImages.computeIfAbsent(this.imageService.getUniqueImageId(clothing, "B"), publicId -> new Image(publicId, clothing));
+                    List<Image> images = mergeUploadedImages(clothing, currentImages, uploads);
 
                     clothing.setImages(images);
                     this.clothingRepository.save(clothing);
                     this.imageService.saveAll(images);
                     return true;
                 }).exceptionally(ex -> {
-                    throw new ImageUploadFailedException("Both image uploads failed: " + ex.getMessage(), ex);
+                    throw new ImageUploadFailedException("Image upload failed: " + ex.getMessage(), ex);
                 });
     }
 
@@ -263,12 +271,8 @@ public class ClothingServiceImpl implements ClothingService {
 
         List<Clothing> allById = this.clothingRepository.findAllById(clothingQuantityMap.keySet());
 
-        allById.forEach(clothing -> {
-            int totalQuantity = clothingQuantityMap.get(clothing.getId());
-            for (int i = 0; i < totalQuantity; i++) {
-                clothing.updateTotalSales();
-            }
-        });
+        allById.forEach(clothing ->
+                clothing.setSaleCount(clothing.getSaleCount() + clothingQuantityMap.get(clothing.getId())));
 
         this.clothingRepository.saveAll(allById);
     }
@@ -445,7 +449,6 @@ public class ClothingServiceImpl implements ClothingService {
 
     private List<Image> processImages(ClothingEditValidationDTO clothingDto, Clothing clothing) {
         List<String> removedImagesPublicId = clothingDto.getRemovedImages();
-        List<Image> imagesToSave = new ArrayList<>();
 
         if (!removedImagesPublicId.isEmpty()) {
             removeImages(removedImagesPublicId);
@@ -457,67 +460,71 @@ public class ClothingServiceImpl implements ClothingService {
                 .filter(publicId -> !removedImagesPublicId.contains(publicId))
                 .toList();
 
-        existingPaths.forEach(path -> {
-            Image image = this.imageService.findByPublicId(path);
-            if (image != null) {
-                imagesToSave.add(image);
-            }
-        });
+        Map<String, Image> currentImages = new LinkedHashMap<>();
+        this.imageService.findAllByPublicIds(existingPaths)
+                .forEach(image -> currentImages.put(image.getPublicId(), image));
 
-        CompletableFuture<String> cloudinaryUpload = CompletableFuture.supplyAsync(() -> {
-            addNewImagesToCloud(clothingDto, clothing);
-            return "Cloudinary";
-        });
+        List<ImageUpload> uploads = collectChangedImages(clothingDto, clothing, currentImages);
 
-        CompletableFuture<String> hostUpload = CompletableFuture.supplyAsync(() -> {
-            addNewImagesToHost(clothingDto, clothing, imagesToSave);
-            return "Host";
-        });
-
-        CompletableFuture.allOf(hostUpload, cloudinaryUpload).join();
+        try {
+            this.imageUploadOrchestrator.uploadAll(toUploadRequests(uploads)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
 
-        return imagesToSave;
+        return mergeUploadedImages(clothing, currentImages, uploads);
     }
 
     private void removeImages(List<String> removedImagesPaths) {
-        removedImagesPaths.forEach(path -> {
-            Image image = this.imageService.findByPublicId(path);
-            if (image != null) {
-                this.imageService.deleteImage(image);
-            }
-        });
+        this.imageService.findAllByPublicIds(removedImagesPaths)
+                .forEach(this.imageService::deleteImage);
+    }
+
+    private List<ImageUpload> collectChangedImages(ClothingValidationDTO clothingValidationDTO, Clothing clothing, Map<String, Image> currentImages) {
+        List<ImageUpload> uploads = new ArrayList<>();
+        addChangedImage(uploads, clothingValidationDTO.getFrontImage(), clothing, "F", currentImages);
+        addChangedImage(uploads, clothingValidationDTO.getBackImage(), clothing, "B", currentImages);
+        return uploads;
     }
 
-    private void addNewImagesToCloud(ClothingValidationDTO clothingValidationDTO, Clothing clothing) {
-        if (clothingValidationDTO.getFrontImage() != null && !clothingValidationDTO.getFrontImage().isEmpty()) {
-            this.imageService.saveImageInCloud(clothingValidationDTO.getFrontImage(), clothing, "F");
+    private void addChangedImage(List<ImageUpload> uploads, MultipartFile file, Clothing clothing, String side, Map<String, Image> currentImages) {
+        if (file == null || file.isEmpty()) {
+            return;
         }
 
-        if (clothingValidationDTO.getBackImage() != null && !clothingValidationDTO.getBackImage().isEmpty()) {
-            this.imageService.saveImageInCloud(clothingValidationDTO.getBackImage(), clothing, "B");
+        String publicId = this.imageService.getUniqueImageId(clothing, side);
+        String contentHash = this.imageService.getContentHash(file);
+
+        Image current = currentImages.get(publicId);
+        if (current != null && contentHash.equals(current.getContentHash())) {
+            return;
         }
+
+        uploads.add(new ImageUpload(publicId, file, contentHash, current == null));
     }
 
-    private void addNewImagesToHost(ClothingValidationDTO clothingValidationDTO, Clothing clothing) {
-        if (clothingValidationDTO.getFrontImage() != null && !clothingValidationDTO.getFrontImage().isEmpty()) {
-            this.imageService.saveImageInHost(clothingValidationDTO.getFrontImage(), clothing, "F");
-        }
+    private List<Image> mergeUploadedImages(Clothing clothing, Map<String, Image> currentImages, List<ImageUpload> uploads) {
+        // Every upload writes all derivatives, so legacy images gain their card/thumbnail paths here.
+        uploads.forEach(upload -> {
+            Image image = currentImages.computeIfAbsent(upload.publicId(), publicId -> new Image(publicId, clothing));
+            image.setCardPath(ImageVariant.CARD.getPath(upload.publicId()));
+            image.setThumbnailPath(ImageVariant.THUMBNAIL.getPath(upload.publicId()));
+            image.setContentHash(upload.contentHash());
+        });
 
-        if (clothingValidationDTO.getBackImage() != null && !clothingValidationDTO.getBackImage().isEmpty()) {
-            this.imageService.saveImageInHost(clothingValidationDTO.getBackImage(), clothing, "B");
-        }
+        return new ArrayList<>(currentImages.values());
     }
 
-    private void addNewImagesToHost(ClothingValidationDTO clothingValidationDTO, Clothing clothing, List<Image> imagesToSave) {
-        if (clothingValidationDTO.getFrontImage() != null && !clothingValidationDTO.getFrontImage().isEmpty()) {
-            this.imageService.saveImageInHost(clothingValidationDTO.getFrontImage(), clothing, "F");
-            imagesToSave.add(new Image(this.imageService.getUniqueImageId(clothing, "F"), clothing));
-        }
+    private List<ImageUploadOrchestrator.UploadRequest> toUploadRequests(List<ImageUpload> uploads) {
+        return uploads.stream()
+                .map(upload -> new ImageUploadOrchestrator.UploadRequest(upload.publicId(), upload.file(), upload.newImage()))
+                .toList();
+    }
 
-        if (clothingValidationDTO.getBackImage() != null && !clothingValidationDTO.getBackImage().isEmpty()) {
-            this.imageService.saveImageInHost(clothingValidationDTO.getBackImage(), clothing, "B");
-            imagesToSave.add(new Image(this.imageService.getUniqueImageId(clothing, "B"), clothing));
-        }
+    private record ImageUpload(String publicId, MultipartFile file, String contentHash, boolean newImage) {
     }
 
     private void processTags(List<String> tagNames, Clothing clothing) {
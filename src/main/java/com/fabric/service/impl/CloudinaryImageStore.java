@@ -0,0 +1,45 @@
+package com.fabric.service.impl;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.fabric.service.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Service(ImageStore.CLOUD)
+@ConditionalOnProperty(name = "app.image.cloudStore", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+    private static final Logger logger = LoggerFactory.getLogger(CloudinaryImageStore.class);
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public void save(String publicId, MultipartFile file) {
+        try {
+            this.cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
+                    "public_id", publicId)
+            );
+        } catch (IOException e) {
+            logger.error("Image upload failed for {}: {}", publicId, e.getMessage());
+            throw new RuntimeException("Failed to upload image", e);
+        }
+    }
+
+    @Override
+    public void delete(String publicId) {
+        try {
+            this.cloudinary.uploader().destroy(publicId, ObjectUtils.asMap("invalidate", true));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
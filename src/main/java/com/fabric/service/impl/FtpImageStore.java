@@ -0,0 +1,85 @@
+package com.fabric.service.impl;
+
+import com.fabric.config.FtpClientPool;
+import com.fabric.database.entity.enums.ImageVariant;
+import com.fabric.exceptions.ImageUploadException;
+import com.fabric.service.ImageStore;
+import com.fabric.service.ImageTranscodingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Service(ImageStore.HOST)
+@ConditionalOnProperty(name = "app.image.store", havingValue = "ftp", matchIfMissing = true)
+public class FtpImageStore implements ImageStore {
+    private static final Logger logger = LoggerFactory.getLogger(FtpImageStore.class);
+
+    private final FtpClientPool ftpClientPool;
+    private final ImageTranscodingService imageTranscodingService;
+
+    public FtpImageStore(FtpClientPool ftpClientPool, ImageTranscodingService imageTranscodingService) {
+        this.ftpClientPool = ftpClientPool;
+        this.imageTranscodingService = imageTranscodingService;
+    }
+
+    @Override
+    public void save(String publicId, MultipartFile file) {
+        this.ftpClientPool.execute(ftpClient -> {
+            try (InputStream source = file.getInputStream()) {
+                this.imageTranscodingService.transcodeToWebp(source, (variant, encoding) -> {
+                    String remoteFileName = variant.getFileName(publicId);
+                    OutputStream target = ftpClient.storeFileStream(remoteFileName);
+                    if (target == null) {
+                        throw new ImageUploadException("Failed to upload the file to the FTP server.");
+                    }
+
+                    try {
+                        encoding.writeTo(target);
+                    } catch (RuntimeException e) {
+                        target.close();
+                        ftpClient.completePendingCommand();
+                        ftpClient.deleteFile(remoteFileName);
+                        throw e;
+                    }
+
+                    target.close();
+                    if (!ftpClient.completePendingCommand()) {
+                        throw new ImageUploadException("Failed to upload the file to the FTP server.");
+                    }
+                });
+            } catch (ImageUploadException e) {
+                if (e.getCause() instanceof IOException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            return null;
+        });
+
+        logger.info("File uploaded successfully as: {}", ImageVariant.FULL.getFileName(publicId));
+    }
+
+    @Override
+    public void delete(String publicId) {
+        String remoteFileName = ImageVariant.FULL.getFileName(publicId);
+
+        this.ftpClientPool.execute(ftpClient -> {
+            if (!ftpClient.deleteFile(remoteFileName)) {
+                throw new ImageUploadException("Failed to delete file: " + remoteFileName + " from the FTP server.");
+            }
+
+            // Images uploaded before derivatives existed have no card/thumbnail files.
+            ftpClient.deleteFile(ImageVariant.CARD.getFileName(publicId));
+            ftpClient.deleteFile(ImageVariant.THUMBNAIL.getFileName(publicId));
+            return null;
+        });
+
+        logger.info("File {} deleted successfully.", remoteFileName);
+    }
+}
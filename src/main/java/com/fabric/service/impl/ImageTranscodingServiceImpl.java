@@ -0,0 +1,158 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.entity.enums.ImageVariant;
+import com.fabric.exceptions.ImageUploadException;
+import com.fabric.exceptions.UnsupportedImageFormatException;
+import com.fabric.service.ImageTranscodingService;
+import com.luciad.imageio.webp.WebPImageWriterSpi;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.*;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class ImageTranscodingServiceImpl implements ImageTranscodingService {
+    private final Semaphore transcodePermits;
+    private final Queue<ImageWriter> writers = new ConcurrentLinkedQueue<>();
+    private final Map<ImageVariant, Queue<BufferedImage>> canvases = new EnumMap<>(ImageVariant.class);
+
+    public ImageTranscodingServiceImpl(@Value("${app.image.maxConcurrentTranscodes:2}") int maxConcurrentTranscodes) {
+        IIORegistry.getDefaultInstance().registerServiceProvider(new WebPImageWriterSpi());
+        ImageIO.setUseCache(false);
+        this.transcodePermits = new Semaphore(maxConcurrentTranscodes, true);
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            this.canvases.put(variant, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @Override
+    public void transcodeToWebp(InputStream source, VariantSink sink) {
+        acquirePermit();
+        Map<ImageVariant, BufferedImage> leased = new EnumMap<>(ImageVariant.class);
+        ImageWriter writer = null;
+
+        try {
+            // Decode once, then derive each smaller variant from the previous one.
+            BufferedImage previous = decodeUpload(source);
+            writer = borrowWriter();
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage canvas = borrowCanvas(variant);
+                leased.put(variant, canvas);
+                scale(previous, canvas, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+                ImageWriter variantWriter = writer;
+                sink.write(variant, target -> encode(variantWriter, canvas, target));
+                writer.reset();
+                previous = canvas;
+            }
+        } catch (IOException e) {
+            throw new ImageUploadException("Error processing image: " + e.getMessage(), e);
+        } finally {
+            if (writer != null) {
+                writer.reset();
+                this.writers.offer(writer);
+            }
+            leased.forEach((variant, canvas) -> this.canvases.get(variant).offer(canvas));
+            this.transcodePermits.release();
+        }
+    }
+
+    // A file that cannot be decoded fails the same way on every attempt, so it is reported apart from transfer errors.
+    private static BufferedImage decodeUpload(InputStream source) {
+        try {
+            return decode(source, ImageVariant.FULL.getWidth(), ImageVariant.FULL.getHeight());
+        } catch (IOException e) {
+            throw new UnsupportedImageFormatException("The image could not be decoded: " + e.getMessage(), e);
+        }
+    }
+
+    public static BufferedImage decode(InputStream source, int targetWidth, int targetHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                throw new ImageUploadException("Could not read image from the provided file.");
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageFormatException("The image format is not supported");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                // Skip source pixels we would throw away when scaling down anyway.
+                int step = Math.max(1, Math.min(reader.getWidth(0) / targetWidth, reader.getHeight(0) / targetHeight));
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public static void scale(BufferedImage source, BufferedImage target, Object interpolation) {
+        Graphics2D g2d = target.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g2d.drawImage(source, 0, 0, target.getWidth(), target.getHeight(), null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    public static void encode(ImageWriter writer, BufferedImage image, OutputStream target) throws IOException {
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), null);
+        }
+    }
+
+    public static ImageWriter createWebpWriter() {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType("image/webp");
+        if (!writers.hasNext()) {
+            throw new ImageUploadException("Failed to write the image in WebP format. Check the WebP plugin setup.");
+        }
+        return writers.next();
+    }
+
+    private BufferedImage borrowCanvas(ImageVariant variant) {
+        BufferedImage canvas = this.canvases.get(variant).poll();
+        return canvas != null ? canvas : new BufferedImage(variant.getWidth(), variant.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private ImageWriter borrowWriter() {
+        ImageWriter writer = this.writers.poll();
+        return writer != null ? writer : createWebpWriter();
+    }
+
+    private void acquirePermit() {
+        try {
+            this.transcodePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImageUploadException("Interrupted while waiting to process image", e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.fabric.service.impl;
+
+import com.fabric.config.ExecutorConfig;
+import com.fabric.exceptions.ImageUploadFailedException;
+import com.fabric.exceptions.UnsupportedImageFormatException;
+import com.fabric.service.ImageStore;
+import com.fabric.service.ImageUploadOrchestrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+@Service
+public class ImageUploadOrchestratorImpl implements ImageUploadOrchestrator {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadOrchestratorImpl.class);
+
+    private final List<Destination> destinations;
+    private final Executor imageExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long retryBackoffInMillis;
+    private final Map<String, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
+
+    public ImageUploadOrchestratorImpl(@Qualifier(ImageStore.HOST) ImageStore hostImageStore,
+                                       @Qualifier(ImageStore.CLOUD) ImageStore cloudImageStore,
+                                       @Qualifier(ExecutorConfig.IMAGE_EXECUTOR) Executor imageExecutor,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.image.upload.host.timeoutInSeconds:30}") long hostTimeoutInSeconds,
+                                       @Value("${app.image.upload.host.maxAttempts:3}") int hostMaxAttempts,
+                                       @Value("${app.image.upload.cloud.timeoutInSeconds:20}") long cloudTimeoutInSeconds,
+                                       @Value("${app.image.upload.cloud.maxAttempts:3}") int cloudMaxAttempts,
+                                       @Value("${app.image.upload.cloud.hedgeAfterInSeconds:5}") long cloudHedgeAfterInSeconds,
+                                       @Value("${app.image.upload.retryBackoffInMillis:200}") long retryBackoffInMillis) {
+        this.destinations = List.of(
+                new Destination("host", hostImageStore, Duration.ofSeconds(hostTimeoutInSeconds),
+                        hostMaxAttempts, Duration.ZERO, true),
+                new Destination("cloud", cloudImageStore, Duration.ofSeconds(cloudTimeoutInSeconds),
+                        cloudMaxAttempts, Duration.ofSeconds(cloudHedgeAfterInSeconds), false)
+        );
+        this.imageExecutor = imageExecutor;
+        this.meterRegistry = meterRegistry;
+        this.retryBackoffInMillis = retryBackoffInMillis;
+    }
+
+    @Override
+    public CompletableFuture<Void> uploadAll(List<UploadRequest> uploads) {
+        for (UploadRequest upload : uploads) {
+            if (upload.file() == null || upload.file().isEmpty()) {
+                return CompletableFuture.failedFuture(new UnsupportedImageFormatException("The image format is not supported"));
+            }
+        }
+
+        Queue<Write> writes = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (Destination destination : this.destinations) {
+            for (UploadRequest upload : uploads) {
+                futures.add(upload(destination, upload, writes));
+            }
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            if (error == null) {
+                result.complete(null);
+                return;
+            }
+
+            compensate(writes);
+            Throwable cause = unwrap(error);
+            result.completeExceptionally(cause instanceof UnsupportedImageFormatException
+                    ? cause
+                    : new ImageUploadFailedException("Image upload failed: " + cause.getMessage(), cause));
+        });
+        return result;
+    }
+
+    private CompletableFuture<Void> upload(Destination destination, UploadRequest upload, Queue<Write> writes) {
+        long start = System.nanoTime();
+
+        return attempt(destination, upload, 1, writes)
+                .whenComplete((ignored, error) -> Timer.builder("image.upload")
+                        .tag("destination", destination.name())
+                        .tag("outcome", error == null ? "success" : "failure")
+                        .publishPercentileHistogram()
+                        .register(this.meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private CompletableFuture<Void> attempt(Destination destination, UploadRequest upload, int attempt, Queue<Write> writes) {
+        return hedged(destination, upload, writes).exceptionallyCompose(error -> {
+            Throwable cause = unwrap(error);
+            if (attempt >= destination.maxAttempts() || !isTransient(cause)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            logger.warn("Upload of {} to {} failed (attempt {} of {}): {}",
+                    upload.publicId(), destination.name(), attempt, destination.maxAttempts(), cause.getMessage());
+            counter("image.upload.retries", destination).increment();
+
+            // Full jitter on an exponential backoff keeps retries from the two images in step.
+            long backoff = this.retryBackoffInMillis << (attempt - 1);
+            long delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+            return after(delay).thenCompose(ignored -> attempt(destination, upload, attempt + 1, writes));
+        });
+    }
+
+    private CompletableFuture<Void> hedged(Destination destination, UploadRequest upload, Queue<Write> writes) {
+        CompletableFuture<Void> primary = store(destination, upload, writes);
+        if (destination.hedgeAfter().isZero()) {
+            return primary;
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        BiConsumer<Void, Throwable> onComplete = (ignored, error) -> {
+            if (error == null) {
+                result.complete(null);
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+
+        primary.whenComplete(onComplete);
+
+        after(destination.hedgeAfter().toMillis()).thenRun(() -> {
+            if (!result.isDone()) {
+                running.incrementAndGet();
+                counter("image.upload.hedges", destination).increment();
+                store(destination, upload, writes).whenComplete(onComplete);
+            }
+        });
+
+        return result;
+    }
+
+    // The timeout only stops waiting: the write itself keeps running and is tracked so compensation can see it.
+    private CompletableFuture<Void> store(Destination destination, UploadRequest upload, Queue<Write> writes) {
+        Runnable save = () -> destination.store().save(upload.publicId(), upload.file());
+        CompletableFuture<Void> write = destination.exclusiveWrites()
+                ? serialized(destination.name() + ":" + upload.publicId(), save)
+                : submit(save);
+
+        writes.add(new Write(destination, upload, write));
+        return write.copy().orTimeout(destination.timeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // A retry of a timed-out FTP transfer must not write the same remote file while the first one is still going.
+    private CompletableFuture<Void> serialized(String key, Runnable save) {
+        CompletableFuture<Void> write = this.pendingWrites.compute(key, (k, previous) -> previous == null
+                ? submit(save)
+                : previous.handle((ignored, error) -> null).thenCompose(ignored -> submit(save)));
+
+        write.whenComplete((ignored, error) -> this.pendingWrites.remove(key, write));
+        return write;
+    }
+
+    private CompletableFuture<Void> submit(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, this.imageExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static CompletableFuture<Void> after(long delayInMillis) {
+        return new CompletableFuture<Void>().completeOnTimeout(null, delayInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Waits for every write of a copy to settle, so one that finishes after the upload gave up is removed too.
+    private void compensate(Queue<Write> writes) {
+        Map<String, List<Write>> byCopy = new LinkedHashMap<>();
+        for (Write write : writes) {
+            if (write.upload().newImage()) {
+                byCopy.computeIfAbsent(write.destination().name() + ":" + write.upload().publicId(), k -> new ArrayList<>())
+                        .add(write);
+            }
+        }
+
+        for (List<Write> copy : byCopy.values()) {
+            Write first = copy.get(0);
+            CompletableFuture<?>[] attempts = copy.stream()
+                    .map(write -> write.done().handle((ignored, error) -> error == null))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(attempts).thenRun(() -> {
+                if (Arrays.stream(attempts).noneMatch(stored -> Boolean.TRUE.equals(stored.join()))) {
+                    return;
+                }
+
+                submit(() -> first.destination().store().delete(first.upload().publicId())).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        counter("image.upload.compensations", first.destination()).increment();
+                    } else {
+                        logger.error("Could not remove {} from {} after a failed upload: {}",
+                                first.upload().publicId(), first.destination().name(), unwrap(error).getMessage());
+                    }
+                });
+            });
+        }
+    }
+
+    // Only failures on the way to a store are worth repeating; a file that cannot be decoded fails the same way every time.
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnsupportedImageFormatException || cause instanceof IIOException) {
+                return false;
+            }
+            if (cause instanceof IOException || cause instanceof TimeoutException || cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private Counter counter(String name, Destination destination) {
+        return Counter.builder(name)
+                .tag("destination", destination.name())
+                .register(this.meterRegistry);
+    }
+
+    private record Destination(String name, ImageStore store, Duration timeout, int maxAttempts, Duration hedgeAfter,
+                               boolean exclusiveWrites) {
+    }
+
+    private record Write(Destination destination, UploadRequest upload, CompletableFuture<Void> done) {
+    }
+}
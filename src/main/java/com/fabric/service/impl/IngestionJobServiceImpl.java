@@ -0,0 +1,255 @@
+package com.fabric.service.impl;
+
+import com.fabric.config.ExecutorConfig;
+import com.fabric.database.dto.clothes.ClothingEditValidationDTO;
+import com.fabric.database.dto.clothes.ClothingValidationDTO;
+import com.fabric.database.dto.ingestion.IngestionJobDTO;
+import com.fabric.database.entity.IngestionJob;
+import com.fabric.database.entity.enums.IngestionJobStatus;
+import com.fabric.database.entity.enums.IngestionJobType;
+import com.fabric.database.repository.IngestionJobRepository;
+import com.fabric.exceptions.ImageUploadException;
+import com.fabric.exceptions.NotFoundException;
+import com.fabric.service.ClothingService;
+import com.fabric.service.IngestionJobService;
+import com.fabric.utils.ByteArrayMultipartFile;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+@Service
+public class IngestionJobServiceImpl implements IngestionJobService {
+    private static final Logger logger = LoggerFactory.getLogger(IngestionJobServiceImpl.class);
+
+    private static final int SWEEP_BATCH_SIZE = 50;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final Duration REDISPATCH_AFTER = Duration.ofMinutes(1);
+
+    private final IngestionJobRepository ingestionJobRepository;
+    private final ClothingService clothingService;
+    private final ObjectMapper payloadMapper;
+    private final Executor ingestionExecutor;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Map<UUID, String> leases = new ConcurrentHashMap<>();
+
+    public IngestionJobServiceImpl(IngestionJobRepository ingestionJobRepository,
+                                   ClothingService clothingService,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier(ExecutorConfig.INGESTION_EXECUTOR) Executor ingestionExecutor,
+                                   @Value("${app.ingestion.maxAttempts:3}") int maxAttempts,
+                                   @Value("${app.ingestion.leaseInSeconds:120}") long leaseInSeconds) {
+        this.ingestionJobRepository = ingestionJobRepository;
+        this.clothingService = clothingService;
+        this.payloadMapper = objectMapper.copy().addMixIn(ClothingValidationDTO.class, PayloadMixin.class);
+        this.ingestionExecutor = ingestionExecutor;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseInSeconds);
+    }
+
+    @Override
+    @Transactional
+    public UUID submitCreate(ClothingValidationDTO clothingDTO, String submittedBy) {
+        return submit(IngestionJobType.CREATE, null, clothingDTO, submittedBy);
+    }
+
+    @Override
+    @Transactional
+    public UUID submitEdit(Long clothingId, ClothingEditValidationDTO clothingDTO, String submittedBy) {
+        if (this.clothingService.getClothingEntityById(clothingId) == null) {
+            throw new NotFoundException(String.format("Clothing with id: %d is not found", clothingId));
+        }
+        return submit(IngestionJobType.EDIT, clothingId, clothingDTO, submittedBy);
+    }
+
+    @Override
+    public IngestionJobDTO getJob(UUID id) {
+        return this.ingestionJobRepository.findStatusById(id)
+                .orElseThrow(() -> new NotFoundException("Job " + id + " is not found"));
+    }
+
+    @Scheduled(fixedDelayString = "${app.ingestion.sweepIntervalInMillis:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+
+        // Jobs left behind by a full queue or a restart are dispatched again; claim() keeps them single-run.
+        this.ingestionJobRepository.findIdsByStatusUpdatedBefore(IngestionJobStatus.PENDING,
+                        now.minus(REDISPATCH_AFTER), PageRequest.of(0, SWEEP_BATCH_SIZE))
+                .forEach(this::dispatch);
+
+        // Only a job whose worker stopped renewing its lease is requeued, however long it has been running.
+        List<UUID> expired = this.ingestionJobRepository.findIdsByStatusLeaseExpiredBefore(IngestionJobStatus.PROCESSING,
+                now, PageRequest.of(0, SWEEP_BATCH_SIZE));
+        if (!expired.isEmpty()) {
+            logger.warn("Requeueing {} ingestion jobs with an expired lease", expired.size());
+            this.ingestionJobRepository.releaseExpired(expired, IngestionJobStatus.PROCESSING, IngestionJobStatus.PENDING, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ingestion.heartbeatIntervalInMillis:30000}")
+    public void heartbeat() {
+        Instant leaseExpiresAt = Instant.now().plus(this.lease);
+        this.leases.forEach((id, owner) -> {
+            if (this.ingestionJobRepository.renewLease(id, owner, leaseExpiresAt) == 0) {
+                logger.warn("Lost the lease on ingestion job {}, its result will be discarded", id);
+                this.leases.remove(id, owner);
+            }
+        });
+    }
+
+    private UUID submit(IngestionJobType type, Long clothingId, ClothingValidationDTO clothingDTO, String submittedBy) {
+        IngestionJob job = new IngestionJob(type, clothingId, writePayload(clothingDTO), submittedBy);
+
+        MultipartFile frontImage = clothingDTO.getFrontImage();
+        if (frontImage != null && !frontImage.isEmpty()) {
+            job.setFrontImage(readBytes(frontImage));
+            job.setFrontImageName(frontImage.getOriginalFilename());
+            job.setFrontImageContentType(frontImage.getContentType());
+        }
+
+        MultipartFile backImage = clothingDTO.getBackImage();
+        if (backImage != null && !backImage.isEmpty()) {
+            job.setBackImage(readBytes(backImage));
+            job.setBackImageName(backImage.getOriginalFilename());
+            job.setBackImageContentType(backImage.getContentType());
+        }
+
+        UUID id = this.ingestionJobRepository.save(job).getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(id);
+            }
+        });
+
+        return id;
+    }
+
+    private void dispatch(UUID id) {
+        try {
+            this.ingestionExecutor.execute(() -> process(id));
+        } catch (TaskRejectedException e) {
+            logger.warn("Ingestion queue is full, job {} will be picked up by the next sweep", id);
+        }
+    }
+
+    private void process(UUID id) {
+        String owner = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        if (this.ingestionJobRepository.claim(id, IngestionJobStatus.PENDING, IngestionJobStatus.PROCESSING,
+                owner, now.plus(this.lease), now) == 0) {
+            return;
+        }
+
+        this.leases.put(id, owner);
+        try {
+            IngestionJob job = this.ingestionJobRepository.findById(id).orElse(null);
+            if (job == null) {
+                return;
+            }
+
+            if (job.getAttempts() > this.maxAttempts) {
+                finish(id, owner, IngestionJobStatus.FAILED, "Gave up after " + this.maxAttempts + " attempts");
+                return;
+            }
+
+            try {
+                String failure = run(job);
+                finish(id, owner, failure == null ? IngestionJobStatus.COMPLETED : IngestionJobStatus.FAILED, failure);
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                logger.error("Ingestion job {} failed: {}", id, cause.getMessage(), cause);
+                finish(id, owner, IngestionJobStatus.FAILED, cause.getMessage());
+            }
+        } finally {
+            this.leases.remove(id, owner);
+        }
+    }
+
+    private String run(IngestionJob job) {
+        switch (job.getType()) {
+            case CREATE -> {
+                ClothingValidationDTO clothingDTO = readPayload(job, ClothingValidationDTO.class);
+                return this.clothingService.addClothing(clothingDTO).join()
+                        ? null
+                        : "Clothing with this model and type already exists.";
+            }
+            case EDIT -> {
+                ClothingEditValidationDTO clothingDTO = readPayload(job, ClothingEditValidationDTO.class);
+                return this.clothingService.editClothing(clothingDTO, job.getClothingId())
+                        ? null
+                        : String.format("Clothing with id: %d has no images", job.getClothingId());
+            }
+            default -> throw new IllegalStateException("Unknown job type " + job.getType());
+        }
+    }
+
+    private void finish(UUID id, String owner, IngestionJobStatus status, String message) {
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        if (this.ingestionJobRepository.finish(id, owner, status, message, Instant.now()) == 0) {
+            logger.warn("Ingestion job {} was requeued while it ran, dropping its {} result", id, status);
+        }
+    }
+
+    private String writePayload(ClothingValidationDTO clothingDTO) {
+        try {
+            return this.payloadMapper.writeValueAsString(clothingDTO);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize clothing payload", e);
+        }
+    }
+
+    private <T extends ClothingValidationDTO> T readPayload(IngestionJob job, Class<T> type) {
+        try {
+            T clothingDTO = this.payloadMapper.readValue(job.getPayload(), type);
+            if (job.getFrontImage() != null) {
+                clothingDTO.setFrontImage(new ByteArrayMultipartFile("frontImage",
+                        job.getFrontImageName(), job.getFrontImageContentType(), job.getFrontImage()));
+            }
+            if (job.getBackImage() != null) {
+                clothingDTO.setBackImage(new ByteArrayMultipartFile("backImage",
+                        job.getBackImageName(), job.getBackImageContentType(), job.getBackImage()));
+            }
+            return clothingDTO;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read clothing payload", e);
+        }
+    }
+
+    private byte[] readBytes(MultipartFile file) {
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new ImageUploadException("Could not read image from the provided file.", e);
+        }
+    }
+
+    @JsonIgnoreProperties({"frontImage", "backImage"})
+    private abstract static class PayloadMixin {
+    }
+}
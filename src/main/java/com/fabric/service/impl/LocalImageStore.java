@@ -0,0 +1,87 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.entity.enums.ImageVariant;
+import com.fabric.exceptions.ImageUploadException;
+import com.fabric.service.ImageStore;
+import com.fabric.service.ImageTranscodingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+@Service(ImageStore.HOST)
+@ConditionalOnProperty(name = "app.image.store", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalImageStore.class);
+
+    private final Path root;
+    private final ImageTranscodingService imageTranscodingService;
+
+    public LocalImageStore(@Value("${app.image.localDirectory:images}") String localDirectory,
+                           ImageTranscodingService imageTranscodingService) throws IOException {
+        this.root = Files.createDirectories(Path.of(localDirectory).toAbsolutePath().normalize());
+        this.imageTranscodingService = imageTranscodingService;
+    }
+
+    @Override
+    public void save(String publicId, MultipartFile file) {
+        try (InputStream source = file.getInputStream()) {
+            this.imageTranscodingService.transcodeToWebp(source, (variant, encoding) -> {
+                Path target = this.root.resolve(variant.getFileName(publicId));
+                Path temp = Files.createTempFile(this.root, ".upload-", ".tmp");
+
+                // Write beside the target and rename so readers never see a half-written file.
+                try {
+                    try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                        encoding.writeTo(output);
+                    }
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Image upload failed for {}: {}", publicId, e.getMessage());
+            throw new ImageUploadException("Failed to store image: " + e.getMessage(), e);
+        }
+
+        logger.info("File stored successfully as: {}", ImageVariant.FULL.getFileName(publicId));
+    }
+
+    @Override
+    public void delete(String publicId) {
+        String fileName = ImageVariant.FULL.getFileName(publicId);
+
+        try {
+            if (!Files.deleteIfExists(this.root.resolve(fileName))) {
+                throw new ImageUploadException("Failed to delete file: " + fileName + " from the image store.");
+            }
+
+            Files.deleteIfExists(this.root.resolve(ImageVariant.CARD.getFileName(publicId)));
+            Files.deleteIfExists(this.root.resolve(ImageVariant.THUMBNAIL.getFileName(publicId)));
+            logger.info("File {} deleted successfully.", fileName);
+        } catch (IOException e) {
+            throw new ImageUploadException("Failed to delete file: " + fileName + " from the image store.", e);
+        }
+    }
+
+    @Override
+    public Optional<Path> resolve(String fileName) {
+        Path path = this.root.resolve(fileName).normalize();
+        if (!path.startsWith(this.root) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+}
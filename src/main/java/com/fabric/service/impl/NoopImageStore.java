@@ -0,0 +1,18 @@
+package com.fabric.service.impl;
+
+import com.fabric.service.ImageStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+@Service(ImageStore.CLOUD)
+@ConditionalOnProperty(name = "app.image.cloudStore", havingValue = "none")
+public class NoopImageStore implements ImageStore {
+    @Override
+    public void save(String publicId, MultipartFile file) {
+    }
+
+    @Override
+    public void delete(String publicId) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.fabric.service.impl;
+
+import com.fabric.exceptions.BadRequestException;
+import com.fabric.service.OrderExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final int FETCH_SIZE = 500;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String EXPORT_QUERY = "SELECT o.id, o.created_at, o.status, o.first_name, o.lats_name, o.email, " +
+            "o.phone_number, o.address, o.selected_office, o.total_price, o.delivery_cost, o.final_price, " +
+            "i.id AS item_id, i.clothing_id, c.name AS clothing_name, c.model, i.type, i.gender, i.size, i.quantity, i.price " +
+            "FROM orders o " +
+            "LEFT JOIN order_items i ON i.order_id = o.id " +
+            "LEFT JOIN clothes c ON c.id = i.clothing_id " +
+            "ORDER BY o.id, i.id";
+
+    private static final String CSV_HEADER = "order_id,created_at,status,first_name,last_name,email,phone_number,address," +
+            "office_delivery,total_price,delivery_cost,final_price,item_id,clothing_id,clothing_name,model,type,gender," +
+            "size,quantity,item_price";
+
+    public OrderExportServiceImpl(DataSource dataSource,
+                                  ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OutputStream outputStream, String format) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try {
+            switch (format.toLowerCase()) {
+                case "csv" -> this.jdbcTemplate.query(EXPORT_QUERY, new CsvRowWriter(writer));
+                case "ndjson" -> {
+                    NdjsonRowWriter rowWriter = new NdjsonRowWriter(this.objectMapper.getFactory().createGenerator(writer));
+                    this.jdbcTemplate.query(EXPORT_QUERY, rowWriter);
+                    rowWriter.finish();
+                }
+                default -> throw new BadRequestException("Format must be 'csv' or 'ndjson'");
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing order export", e);
+        }
+    }
+
+    private static class CsvRowWriter implements RowCallbackHandler {
+        private final Writer writer;
+        private int rows;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                this.writer.write(String.join(",",
+                        String.valueOf(rs.getLong("id")),
+                        escape(toIso(rs.getTimestamp("created_at"))),
+                        escape(rs.getString("status")),
+                        escape(rs.getString("first_name")),
+                        escape(rs.getString("lats_name")),
+                        escape(rs.getString("email")),
+                        escape(rs.getString("phone_number")),
+                        escape(rs.getString("address")),
+                        String.valueOf(rs.getBoolean("selected_office")),
+                        String.valueOf(rs.getDouble("total_price")),
+                        String.valueOf(rs.getDouble("delivery_cost")),
+                        String.valueOf(rs.getDouble("final_price")),
+                        escape(rs.getString("item_id")),
+                        escape(rs.getString("clothing_id")),
+                        escape(rs.getString("clothing_name")),
+                        escape(rs.getString("model")),
+                        escape(rs.getString("type")),
+                        escape(rs.getString("gender")),
+                        escape(rs.getString("size")),
+                        escape(rs.getString("quantity")),
+                        escape(rs.getString("price"))
+                ));
+                this.writer.write('\n');
+
+                if (++this.rows % FLUSH_EVERY_ROWS == 0) {
+                    this.writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing order export", e);
+            }
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+
+            if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+                return value;
+            }
+
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    private static class NdjsonRowWriter implements RowCallbackHandler {
+        private final JsonGenerator generator;
+        private long currentOrderId = -1;
+        private int rows;
+
+        private NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long orderId = rs.getLong("id");
+
+                if (orderId != this.currentOrderId) {
+                    endOrder();
+                    startOrder(rs, orderId);
+                }
+
+                long itemId = rs.getLong("item_id");
+                if (!rs.wasNull()) {
+                    writeItem(rs, itemId);
+                }
+
+                if (++this.rows % FLUSH_EVERY_ROWS == 0) {
+                    this.generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing order export", e);
+            }
+        }
+
+        private void finish() throws IOException {
+            endOrder();
+            this.generator.flush();
+        }
+
+        private void startOrder(ResultSet rs, long orderId) throws SQLException, IOException {
+            this.currentOrderId = orderId;
+
+            this.generator.writeStartObject();
+            this.generator.writeNumberField("id", orderId);
+            this.generator.writeStringField("createdAt", toIso(rs.getTimestamp("created_at")));
+            this.generator.writeStringField("status", rs.getString("status"));
+            this.generator.writeStringField("firstName", rs.getString("first_name"));
+            this.generator.writeStringField("lastName", rs.getString("lats_name"));
+            this.generator.writeStringField("email", rs.getString("email"));
+            this.generator.writeStringField("phoneNumber", rs.getString("phone_number"));
+            this.generator.writeStringField("address", rs.getString("address"));
+            this.generator.writeBooleanField("officeDelivery", rs.getBoolean("selected_office"));
+            this.generator.writeNumberField("totalPrice", rs.getDouble("total_price"));
+            this.generator.writeNumberField("deliveryCost", rs.getDouble("delivery_cost"));
+            this.generator.writeNumberField("finalPrice", rs.getDouble("final_price"));
+            this.generator.writeArrayFieldStart("items");
+        }
+
+        private void writeItem(ResultSet rs, long itemId) throws SQLException, IOException {
+            this.generator.writeStartObject();
+            this.generator.writeNumberField("id", itemId);
+            this.generator.writeNumberField("clothingId", rs.getLong("clothing_id"));
+            this.generator.writeStringField("name", rs.getString("clothing_name"));
+            this.generator.writeStringField("model", rs.getString("model"));
+            this.generator.writeStringField("type", rs.getString("type"));
+            this.generator.writeStringField("gender", rs.getString("gender"));
+            this.generator.writeStringField("size", rs.getString("size"));
+            this.generator.writeNumberField("quantity", rs.getInt("quantity"));
+            this.generator.writeNumberField("price", rs.getDouble("price"));
+            this.generator.writeEndObject();
+        }
+
+        private void endOrder() throws IOException {
+            if (this.currentOrderId == -1) {
+                return;
+            }
+
+            this.generator.writeEndArray();
+            this.generator.writeEndObject();
+            this.generator.writeRaw('\n');
+        }
+    }
+
+    private static String toIso(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+}
@@ -4,6 +4,7 @@ import com.fabric.database.dto.clothes.ClothingDetailsPageDTO;
 import com.fabric.database.dto.order.OrderDTO;
 import com.fabric.database.dto.order.OrderItemDTO;
 import com.fabric.database.dto.order.OrderPageDTO;
+import com.fabric.database.dto.order.OrderStatusUpdateResult;
 import com.fabric.database.dto.order.OrdersDetailsDTO;
 import com.fabric.database.dto.user.UserDTO;
 import com.fabric.database.entity.Clothing;
@@ -18,19 +19,30 @@ import com.fabric.exceptions.NotFoundException;
 import com.fabric.service.ClothingService;
 import com.fabric.service.EmailService;
 import com.fabric.service.OrderService;
+import com.fabric.service.SalesAnalyticsService;
 import com.fabric.utils.PhoneNumberUtils;
 import jakarta.transaction.Transactional;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,28 +52,40 @@ public class OrderServiceImpl implements OrderService {
     private final UserRepository userRepository;
     private final ClothingService clothingService;
     private final EmailService emailService;
+    private final SalesAnalyticsService salesAnalyticsService;
     private final PhoneNumberUtils phoneNumberUtils;
     private final ModelMapper modelMapper;
+    private final CacheManager cacheManager;
+
+    private static final String ORDERS_CACHE = "orders";
+    private static final String CONFIRMED = "Confirmed";
+    private static final String DETAILS_KEY = "findOrderById_";
+    private static final String STATUS_KEY = "getAllOrdersByStatus_";
+    private static final String ALL_KEY = "getAllOrders_";
+    private static final String USER_KEY = "findOrdersByUser_";
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             ClothingRepository clothRepository,
                             UserRepository userRepository,
                             ClothingService clothingService,
                             EmailService emailService,
+                            SalesAnalyticsService salesAnalyticsService,
                             PhoneNumberUtils phoneNumberUtils,
-                            ModelMapper modelMapper) {
+                            ModelMapper modelMapper,
+                            CacheManager cacheManager) {
         this.orderRepository = orderRepository;
         this.clothRepository = clothRepository;
         this.userRepository = userRepository;
         this.clothingService = clothingService;
         this.emailService = emailService;
+        this.salesAnalyticsService = salesAnalyticsService;
         this.phoneNumberUtils = phoneNumberUtils;
         this.modelMapper = modelMapper;
+        this.cacheManager = cacheManager;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "orders", allEntries = true)
     public void createOrder(OrderDTO orderDTO, UserDTO userDTO) {
         if (orderDTO == null) {
             throw new BadRequestException("Order data is invalid: order cannot be null");
@@ -74,12 +98,12 @@ public class OrderServiceImpl implements OrderService {
         order.setUser(user);
 
         this.orderRepository.save(order);
+        evictNewOrder(order);
         this.emailService.sendOrderEmail(order);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "orders", allEntries = true)
     public void createOrder(OrderDTO orderDTO) {
         if (orderDTO == null) {
             throw new BadRequestException("Order data is invalid: order cannot be null");
@@ -90,13 +114,13 @@ public class OrderServiceImpl implements OrderService {
         Order order = buildOrder(orderDTO, user);
 
         this.orderRepository.save(order);
+        evictNewOrder(order);
 
         this.emailService.sendOrderEmail(order);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "orders", allEntries = true)
     public boolean updateStatus(Long id, String status) {
         Optional<Order> byId = this.orderRepository.findById(id);
 
@@ -105,20 +129,77 @@ public class OrderServiceImpl implements OrderService {
         }
         Order order = byId.get();
 
-        if (order.getStatus().equalsIgnoreCase(status)) {
+        String previousStatus = order.getStatus();
+        String newStatus = setStatus(status);
+        if (newStatus.equalsIgnoreCase(previousStatus)) {
             return false;
         }
 
-        order.setStatus(setStatus(status));
+        order.setStatus(newStatus);
 
-        if ("confirm".equalsIgnoreCase(status)) {
+        if (CONFIRMED.equals(newStatus)) {
             this.clothingService.setTotalSales(order.getItems());
+            this.salesAnalyticsService.recordConfirmedItems(order.getItems());
+        } else if (CONFIRMED.equalsIgnoreCase(previousStatus)) {
+            this.salesAnalyticsService.revokeConfirmedItems(order.getItems());
         }
 
         this.orderRepository.save(order);
+        evictStatusChanges(List.of(order), Set.of(previousStatus));
         return true;
     }
 
+    @Override
+    @Transactional
+    public Map<Long, OrderStatusUpdateResult> updateStatuses(List<Long> ids, String status) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Order> orders = this.orderRepository.findAllWithItemsByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        String newStatus = setStatus(status);
+        Map<Long, OrderStatusUpdateResult> results = new LinkedHashMap<>();
+        List<Order> changed = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Order order = orders.get(id);
+            if (order == null) {
+                results.put(id, OrderStatusUpdateResult.NOT_FOUND);
+            } else if (newStatus.equalsIgnoreCase(order.getStatus())) {
+                results.put(id, OrderStatusUpdateResult.UNCHANGED);
+            } else {
+                results.put(id, OrderStatusUpdateResult.UPDATED);
+                changed.add(order);
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return results;
+        }
+
+        Set<String> previousStatuses = changed.stream()
+                .map(Order::getStatus)
+                .collect(Collectors.toSet());
+
+        List<OrderItem> revokedItems = changed.stream()
+                .filter(order -> CONFIRMED.equalsIgnoreCase(order.getStatus()))
+                .flatMap(order -> order.getItems().stream())
+                .toList();
+        this.salesAnalyticsService.revokeConfirmedItems(revokedItems);
+
+        changed.forEach(order -> order.setStatus(newStatus));
+
+        if (CONFIRMED.equals(newStatus)) {
+            List<OrderItem> confirmedItems = changed.stream()
+                    .flatMap(order -> order.getItems().stream())
+                    .toList();
+            this.clothingService.setTotalSales(confirmedItems);
+            this.salesAnalyticsService.recordConfirmedItems(confirmedItems);
+        }
+
+        this.orderRepository.saveAll(changed);
+        evictStatusChanges(changed, previousStatuses);
+        return results;
+    }
+
     @Override
     @Cacheable(value = "orders", key = "'findOrderById_' + #id")
     public OrdersDetailsDTO findOrderById(Long id) {
@@ -142,26 +223,82 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "'getAllOrdersByStatus_' + #status + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "'getAllOrdersByStatus_' + #status + '_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort.toString()")
     public Page<OrderPageDTO> getAllOrdersByStatus(Pageable pageable, String status) {
         return this.orderRepository.findAllByStatusDto(status, pageable);
     }
 
     @Override
-    @Cacheable(value = "orders", key = "'getAllOrders_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "'getAllOrders_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort.toString()")
     public Page<OrderPageDTO> getAllOrders(Pageable pageable) {
         return this.orderRepository.findAllOrderPageDTO(pageable);
     }
 
     @Override
-    @Cacheable(value = "orders", key = "'findOrdersByUser_' + #userEmail + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "'findOrdersByUser_' + #userEmail + '|' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort.toString()")
     public Page<OrderPageDTO> findOrdersByUser(String userEmail, Pageable pageable) {
         return this.orderRepository.findOrdersByUserDto(userEmail, pageable);
     }
 
+    // A new order shifts every page and the totals of its status and of the full listing, in either sort direction.
+    private void evictNewOrder(Order order) {
+        String statusPages = STATUS_KEY + order.getStatus() + "_";
+        String userPages = order.getUser() != null ? USER_KEY + order.getUser().getEmail() + "|" : null;
+
+        evictOrdersAfterCommit(key -> startsWithIgnoreCase(key, statusPages)
+                || key.startsWith(ALL_KEY)
+                || (userPages != null && key.startsWith(userPages)));
+    }
+
+    private void evictStatusChanges(List<Order> orders, Set<String> previousStatuses) {
+        Set<String> details = new HashSet<>();
+        Set<String> userPages = new HashSet<>();
+        List<String> statusPages = new ArrayList<>();
+
+        orders.forEach(order -> {
+            details.add(DETAILS_KEY + order.getId());
+            if (order.getUser() != null) {
+                userPages.add(USER_KEY + order.getUser().getEmail() + "|");
+            }
+        });
+        previousStatuses.forEach(status -> statusPages.add(STATUS_KEY + status + "_"));
+        statusPages.add(STATUS_KEY + orders.getFirst().getStatus() + "_");
+
+        evictOrdersAfterCommit(key -> details.contains(key)
+                || statusPages.stream().anyMatch(prefix -> startsWithIgnoreCase(key, prefix))
+                || key.startsWith(ALL_KEY)
+                || userPages.stream().anyMatch(key::startsWith));
+    }
+
+    private static boolean startsWithIgnoreCase(String key, String prefix) {
+        return key.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private void evictOrdersAfterCommit(Predicate<String> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictOrders(keys);
+                }
+            });
+        } else {
+            evictOrders(keys);
+        }
+    }
+
+    private void evictOrders(Predicate<String> keys) {
+        if (!(this.cacheManager.getCache(ORDERS_CACHE) instanceof CaffeineCache caffeineCache)) {
+            return;
+        }
+
+        Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        nativeCache.asMap().keySet().removeIf(key -> key instanceof String k && keys.test(k));
+    }
+
     private String setStatus(String status) {
         return switch (status.toLowerCase()) {
-            case "confirm" -> "Confirmed";
+            case "confirm" -> CONFIRMED;
             case "reject" -> "Rejected";
             default -> "Pending";
         };
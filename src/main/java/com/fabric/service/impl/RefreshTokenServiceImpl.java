@@ -3,18 +3,40 @@ package com.fabric.service.impl;
 import com.fabric.database.entity.RefreshToken;
 import com.fabric.database.repository.RefreshTokenRepository;
 import com.fabric.service.RefreshTokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
 
 @Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
+    private final int cleanupBatchSize;
+    private final Cache<String, Instant> activeTokens;
+    private final Cache<String, Boolean> revokedTokens;
 
-    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository) {
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${app.jwtRefreshExpirationInMs}") long refreshExpirationInMs,
+                                   @Value("${app.refreshToken.cacheMaxEntries:50000}") long cacheMaxEntries,
+                                   @Value("${app.refreshToken.cleanupBatchSize:500}") int cleanupBatchSize) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.cleanupBatchSize = cleanupBatchSize;
+
+        // Entries never outlive the token itself, so both caches can expire on the refresh lifetime.
+        Duration lifetime = Duration.ofMillis(refreshExpirationInMs);
+        this.activeTokens = Caffeine.newBuilder()
+                .expireAfterWrite(lifetime)
+                .maximumSize(cacheMaxEntries)
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(lifetime)
+                .maximumSize(cacheMaxEntries)
+                .build();
     }
 
     @Override
@@ -25,26 +47,61 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         refreshToken.setExpiryDate(expiryDate);
         refreshToken.setRevoked(false);
         this.refreshTokenRepository.save(refreshToken);
+        this.activeTokens.put(tokenId, expiryDate);
     }
 
     @Override
     public boolean isValid(String tokenId) {
-        return this.refreshTokenRepository.findByTokenId(tokenId)
-                .filter(token -> !token.isRevoked() && token.getExpiryDate().isAfter(Instant.now()))
-                .isPresent();
+        if (this.revokedTokens.getIfPresent(tokenId) != null) {
+            return false;
+        }
+
+        Instant expiryDate = this.activeTokens.getIfPresent(tokenId);
+        if (expiryDate == null) {
+            Optional<RefreshToken> token = this.refreshTokenRepository.findByTokenId(tokenId);
+            if (token.isEmpty()) {
+                return false;
+            }
+            if (token.get().isRevoked()) {
+                this.revokedTokens.put(tokenId, Boolean.TRUE);
+                return false;
+            }
+            expiryDate = token.get().getExpiryDate();
+            this.activeTokens.put(tokenId, expiryDate);
+        }
+
+        return expiryDate.isAfter(Instant.now());
     }
 
     @Override
-    public void revokeToken(String tokenId) {
-        this.refreshTokenRepository.findByTokenId(tokenId).ifPresent(token -> {
-            token.setRevoked(true);
-            refreshTokenRepository.save(token);
-        });
+    public boolean revokeToken(String tokenId) {
+        this.activeTokens.invalidate(tokenId);
+        this.revokedTokens.put(tokenId, Boolean.TRUE);
+        return this.refreshTokenRepository.revokeByTokenId(tokenId) > 0;
+    }
+
+    // Revokes the presented token and stores its successor in one statement, which fails if it was already used.
+    @Override
+    public boolean rotateToken(String tokenId, String newTokenId, Instant newExpiryDate) {
+        if (this.revokedTokens.getIfPresent(tokenId) != null) {
+            return false;
+        }
+
+        boolean rotated = this.refreshTokenRepository.rotate(tokenId, newTokenId, newExpiryDate, Instant.now()) > 0;
+        this.activeTokens.invalidate(tokenId);
+        this.revokedTokens.put(tokenId, Boolean.TRUE);
+        if (rotated) {
+            this.activeTokens.put(newTokenId, newExpiryDate);
+        }
+        return rotated;
     }
 
-    @Scheduled(cron = "0 0 */5 * * ?")
-    @Transactional
+    @Scheduled(cron = "${app.refreshToken.cleanupCron:0 */15 * * * ?}")
     protected void cleanupExpiredTokens() {
-        this.refreshTokenRepository.deleteByExpiryDateBefore(Instant.now());
+        Instant now = Instant.now();
+        int deleted;
+        do {
+            deleted = this.refreshTokenRepository.deleteExpiredBatch(now, this.cleanupBatchSize);
+        } while (deleted == this.cleanupBatchSize);
     }
 }
@@ -0,0 +1,121 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.dto.analytics.SalesRollupDTO;
+import com.fabric.database.entity.Clothing;
+import com.fabric.database.entity.OrderItem;
+import com.fabric.database.repository.SalesRollupRepository;
+import com.fabric.service.SalesAnalyticsService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+    private final SalesRollupRepository salesRollupRepository;
+    private final CacheManager cacheManager;
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Sofia");
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+    private static final String SALES_ANALYTICS_CACHE = "salesAnalytics";
+
+    public SalesAnalyticsServiceImpl(SalesRollupRepository salesRollupRepository,
+                                     CacheManager cacheManager) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    @Transactional
+    public void recordConfirmedItems(List<OrderItem> items) {
+        applyItems(items, 1);
+    }
+
+    @Override
+    @Transactional
+    public void revokeConfirmedItems(List<OrderItem> items) {
+        applyItems(items, -1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "salesAnalytics", key = "#from.toString() + '_' + #to.toString()")
+    public List<SalesRollupDTO> getRollups(LocalDate from, LocalDate to) {
+        return this.salesRollupRepository.findRollups(from, to);
+    }
+
+    private void applyItems(List<OrderItem> items, int sign) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Map<Bucket, double[]> totals = new LinkedHashMap<>();
+
+        items.forEach(item -> {
+            double[] total = totals.computeIfAbsent(toBucket(item), key -> new double[2]);
+            total[0] += sign * item.getQuantity();
+            total[1] += sign * item.getPrice() * item.getQuantity();
+        });
+
+        totals.forEach((bucket, total) -> this.salesRollupRepository.increment(
+                bucket.day(),
+                bucket.type(),
+                bucket.category(),
+                bucket.gender(),
+                bucket.size(),
+                (long) total[0],
+                total[1]
+        ));
+
+        evictAfterCommit();
+    }
+
+    // Evicting before commit would let a concurrent read cache the old totals again.
+    private void evictAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        Cache cache = this.cacheManager.getCache(SALES_ANALYTICS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static Bucket toBucket(OrderItem item) {
+        Clothing clothing = item.getClothing();
+        Instant createdAt = item.getOrder() != null && item.getOrder().getCreatedAt() != null
+                ? item.getOrder().getCreatedAt()
+                : Instant.now();
+
+        return new Bucket(
+                LocalDate.ofInstant(createdAt, ZONE),
+                clothing != null && clothing.getType() != null ? clothing.getType().name() : UNSPECIFIED,
+                clothing != null && clothing.getCategory() != null ? clothing.getCategory().name() : UNSPECIFIED,
+                item.getGender() != null ? item.getGender().name() : UNSPECIFIED,
+                item.getSize() != null ? item.getSize() : UNSPECIFIED
+        );
+    }
+
+    private record Bucket(LocalDate day, String type, String category, String gender, String size) {
+    }
+}
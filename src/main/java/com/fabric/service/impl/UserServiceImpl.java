@@ -1,5 +1,7 @@
 package com.fabric.service.impl;
 
+import com.fabric.config.CurrentUserContext;
+import com.fabric.config.JwtClaimsContext;
 import com.fabric.config.JwtTokenProvider;
 import com.fabric.database.dto.clothes.ClothingPageDTO;
 import com.fabric.database.dto.clothes.ClothingWishlistDTO;
@@ -12,12 +14,13 @@ import com.fabric.database.entity.User;
 import com.fabric.database.entity.enums.Role;
 import com.fabric.database.repository.UserRepository;
 import com.fabric.exceptions.EmailAlreadyInUseException;
-import com.fabric.exceptions.ForbiddenException;
 import com.fabric.exceptions.NotFoundException;
 import com.fabric.exceptions.UnauthorizedException;
 import com.fabric.service.ClothingService;
 import com.fabric.service.UserService;
 import com.fabric.utils.PhoneNumberUtils;
+import com.fabric.utils.UserStateCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
@@ -35,25 +38,34 @@ import java.util.Set;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtClaimsContext jwtClaimsContext;
+    private final CurrentUserContext currentUserContext;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
     private final PhoneNumberUtils phoneNumberUtils;
     private final ClothingService clothingService;
+    private final UserStateCache userStateCache;
     private final static int ADMINS_COUNT = 1;
     private static final int MODERATOR_COUNT = 1;
 
     public UserServiceImpl(UserRepository userRepository,
                            JwtTokenProvider jwtTokenProvider,
+                           JwtClaimsContext jwtClaimsContext,
+                           CurrentUserContext currentUserContext,
                            PasswordEncoder passwordEncoder,
                            ModelMapper modelMapper,
                            PhoneNumberUtils phoneNumberUtils,
-                           ClothingService clothingService) {
+                           ClothingService clothingService,
+                           UserStateCache userStateCache) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.jwtClaimsContext = jwtClaimsContext;
+        this.currentUserContext = currentUserContext;
         this.passwordEncoder = passwordEncoder;
         this.modelMapper = modelMapper;
         this.phoneNumberUtils = phoneNumberUtils;
         this.clothingService = clothingService;
+        this.userStateCache = userStateCache;
     }
 
     @Override
@@ -85,21 +97,21 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDTO findByEmail(String email) {
         return this.userRepository.findByEmail(email)
-                .map(user -> new UserDTO(user.getEmail(), user.getAddress(), user.getRoles()))
+                .map(this::mapToUserDTO)
                 .orElse(null);
     }
 
     @Override
-    public UserDTO validateAdmin(HttpServletRequest request) {
-        String token = extractToken(request);
-        validateAdminRole(token);
-        return findUser(token);
+    public UserDTO validateUser(HttpServletRequest request) {
+        requireTokenEmail();
+
+        return resolveCurrentUser()
+                .orElseThrow(() -> new NotFoundException("User not found in the system."));
     }
 
     @Override
-    public UserDTO validateUser(HttpServletRequest request) {
-        String token = extractToken(request);
-        return findUser(token);
+    public Optional<UserDTO> findCurrentUser(HttpServletRequest request) {
+        return resolveCurrentUser();
     }
 
     @Override
@@ -130,16 +142,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     @CacheEvict(value = "userProfile", allEntries = true)
     public boolean editUser(UserEitDTO userEditDTO, HttpServletRequest request) {
-        UserDTO userDTO = this.validateUser(request);
-
-        Optional<User> optionalUser = this.userRepository.findByEmail(userDTO.getEmail());
-        if (optionalUser.isEmpty()) {
-            return false;
-        }
-
-        User user = optionalUser.get();
+        User user = getUser(request);
+        String previousEmail = user.getEmail();
 
         this.phoneNumberUtils.validateBulgarianPhoneNumber(userEditDTO.getPhoneNumber());
 
@@ -156,6 +163,9 @@ public class UserServiceImpl implements UserService {
         user.setPhoneNumber(userEditDTO.getPhoneNumber());
 
         saveUser(user);
+        this.currentUserContext.clear();
+        this.userStateCache.invalidate(previousEmail);
+        this.userStateCache.invalidate(userEditDTO.getEmail());
         return true;
     }
 
@@ -212,54 +222,60 @@ public class UserServiceImpl implements UserService {
         user.removeFavorite(clothingId);
     }
 
+    // The lookup that resolves the current user also supplies the entity, so the caller's transaction loads it once.
     private User getUser(HttpServletRequest request) {
-        UserDTO userDTO = validateUser(request);
-        Optional<User> optional = this.userRepository.findByEmail(userDTO.getEmail());
-
-        if (optional.isEmpty()) {
-            throw new NotFoundException("User not found");
+        if (!this.currentUserContext.isResolved()) {
+            requireTokenEmail();
+            return loadCurrentUser()
+                    .orElseThrow(() -> new NotFoundException("User not found in the system."));
         }
 
-        return optional.get();
+        // Resolved earlier in the request, outside this persistence context.
+        validateUser(request);
+        return this.userRepository.findById(this.currentUserContext.getUserId())
+                .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
-    private void saveUser(User user) {
-        this.userRepository.save(user);
-    }
+    private Optional<UserDTO> resolveCurrentUser() {
+        if (!this.currentUserContext.isResolved()) {
+            loadCurrentUser();
+        }
 
-    private UserProfileDTO mapToUserProfileDTO(User user) {
-        return modelMapper.map(user, UserProfileDTO.class);
+        return this.currentUserContext.getUser();
     }
 
-    private void validateAdminRole(String token) {
-        List<?> rolesFromJwt = this.jwtTokenProvider.getRolesFromJwt(token);
-        if (rolesFromJwt == null || rolesFromJwt.isEmpty()) {
-            throw new ForbiddenException("Access denied. No roles found in the token.");
-        }
-        if (!rolesFromJwt.contains("ADMIN")) {
-            throw new ForbiddenException("Access denied. Admin privileges required.");
-        }
+    private Optional<User> loadCurrentUser() {
+        String email = this.jwtClaimsContext.getEmail();
+        Optional<User> user = email == null || email.isEmpty()
+                ? Optional.empty()
+                : this.userRepository.findByEmail(email);
+
+        this.currentUserContext.resolve(user.map(this::mapToUserDTO).orElse(null), user.map(User::getId).orElse(null));
+        return user;
     }
 
-    private UserDTO findUser(String token) {
-        String email = jwtTokenProvider.getEmailFromJwt(token);
+    private void requireTokenEmail() {
+        String email = extractClaims().getSubject();
         if (email == null || email.isEmpty()) {
             throw new UnauthorizedException("Email not found in token.");
         }
+    }
 
-        UserDTO user = findByEmail(email);
-        if (user == null) {
-            throw new NotFoundException("User not found in the system.");
-        }
-        return user;
+    private UserDTO mapToUserDTO(User user) {
+        return new UserDTO(user.getEmail(), user.getAddress(), user.getRoles());
     }
 
-    private String extractToken(HttpServletRequest request) {
-        String token = this.jwtTokenProvider.getJwtFromRequest(request);
-        if (!this.jwtTokenProvider.isValidToken(token, request)) {
-            throw new UnauthorizedException("Invalid or expired token.");
-        }
-        return token;
+    private void saveUser(User user) {
+        this.userRepository.save(user);
+    }
+
+    private UserProfileDTO mapToUserProfileDTO(User user) {
+        return modelMapper.map(user, UserProfileDTO.class);
+    }
+
+    private Claims extractClaims() {
+        return this.jwtClaimsContext.getClaims()
+                .orElseThrow(() -> new UnauthorizedException("Invalid or expired token."));
     }
 
     private Set<Role> determineRoles() {
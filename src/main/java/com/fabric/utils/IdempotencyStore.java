@@ -0,0 +1,95 @@
+package com.fabric.utils;
+
+import com.fabric.exceptions.BadRequestException;
+import com.fabric.exceptions.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+@Component
+public class IdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> results;
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${app.idempotency.ttlInMinutes:10}") long ttlInMinutes,
+                            @Value("${app.idempotency.maxEntries:10000}") long maxEntries) {
+        this.objectMapper = objectMapper;
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlInMinutes))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per {@code (owner, key)}. A replay with the same key but a different
+     * owner lands in its own namespace, and a replay with a different request body is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String owner, String key, Object request, Supplier<T> action) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = owner + "|" + key;
+        Entry created = new Entry(fingerprint(owner, request), new CompletableFuture<>());
+        Entry existing = this.results.asMap().putIfAbsent(scopedKey, created);
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(created.fingerprint())) {
+                throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request");
+            }
+
+            try {
+                return (T) existing.result().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            T result = action.get();
+            created.result().complete(result);
+            return result;
+        } catch (Throwable e) {
+            this.results.asMap().remove(scopedKey, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private String fingerprint(String owner, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(owner.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(this.objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", e);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {
+    }
+}
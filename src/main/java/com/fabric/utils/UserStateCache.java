@@ -0,0 +1,56 @@
+package com.fabric.utils;
+
+import com.fabric.database.entity.enums.Role;
+import com.fabric.database.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class UserStateCache {
+    private final UserRepository userRepository;
+    private final Cache<String, UserState> states;
+
+    public UserStateCache(UserRepository userRepository,
+                          @Value("${app.security.userStateTtlInSeconds:60}") long ttlInSeconds,
+                          @Value("${app.security.userStateMaxEntries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.states = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlInSeconds))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public Optional<UserState> get(String email) {
+        return Optional.ofNullable(this.states.get(email, this::load));
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            this.states.invalidate(email);
+        }
+    }
+
+    private UserState load(String email) {
+        List<Object[]> rows = this.userRepository.findIdAndRolesByEmail(email);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Set<String> roles = new HashSet<>();
+        for (Object[] row : rows) {
+            roles.add(((Role) row[1]).name());
+        }
+        return new UserState((Long) rows.get(0)[0], Set.copyOf(roles));
+    }
+
+    public record UserState(Long id, Set<String> roles) {
+    }
+}
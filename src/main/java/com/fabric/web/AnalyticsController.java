@@ -0,0 +1,55 @@
+package com.fabric.web;
+
+import com.fabric.database.dto.analytics.SalesRollupDTO;
+import com.fabric.exceptions.BadRequestException;
+import com.fabric.service.SalesAnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    public AnalyticsController(SalesAnalyticsService salesAnalyticsService) {
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/sales")
+    public ResponseEntity<?> getSales(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneId.of("Europe/Sofia"));
+        LocalDate start = from != null ? from : end.minusDays(29);
+
+        if (start.isAfter(end)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<SalesRollupDTO> rollups = this.salesAnalyticsService.getRollups(start, end);
+
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "from", start.toString(),
+                "to", end.toString(),
+                "rollups", rollups
+        ));
+    }
+}
@@ -2,19 +2,13 @@ package com.fabric.web;
 
 import com.fabric.config.JwtTokenProvider;
 import com.fabric.database.dto.TokenRefreshResponse;
-import com.fabric.service.impl.CustomUserDetailsService;
 import com.fabric.service.impl.RefreshTokenServiceImpl;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
-import io.jsonwebtoken.ExpiredJwtException;
+import com.fabric.utils.UserStateCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,109 +16,72 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
 @RestController
 public class AuthController {
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final UserStateCache userStateCache;
     private final RefreshTokenServiceImpl refreshTokenService;
 
-    private final Map<String, Bucket> rateLimitBuckets = new ConcurrentHashMap<>();
-
     public AuthController(JwtTokenProvider jwtTokenProvider,
-                          CustomUserDetailsService customUserDetailsService,
+                          UserStateCache userStateCache,
                           RefreshTokenServiceImpl refreshTokenService) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.customUserDetailsService = customUserDetailsService;
+        this.userStateCache = userStateCache;
         this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/refresh-token")
     public ResponseEntity<?> refreshToken(HttpServletRequest httpRequest) {
-        if (isRateLimitExceeded(httpRequest)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of("message", "Too many requests. Please try again later."));
-        }
-
         String refreshToken = httpRequest.getHeader("Refresh-Token");
         if (!StringUtils.hasText(refreshToken)) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", "Token has expired"));
         }
 
+        Claims claims;
         try {
-            if (!isRefreshTokenValid(refreshToken, httpRequest)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Token has expired"));
-            }
-
-            String email = jwtTokenProvider.getEmailFromJwt(refreshToken);
-            String jti = jwtTokenProvider.getJtiFromJwt(refreshToken);
-
-            if (!refreshTokenService.isValid(jti)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Token has expired"));
-            }
-
-            if (isRefreshTokenAboutToExpire(refreshToken)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Token has expired"));
-            }
+            claims = jwtTokenProvider.parseToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return tokenExpired();
+        }
 
-            refreshTokenService.revokeToken(jti);
+        String currentFingerprint = jwtTokenProvider.generateDeviceFingerprint(httpRequest);
+        if (!isRefreshTokenValid(claims, currentFingerprint) || isRefreshTokenAboutToExpire(claims)) {
+            return tokenExpired();
+        }
 
-            TokenRefreshResponse tokenResponse = generateNewTokens(email, httpRequest);
+        String email = claims.getSubject();
+        Optional<UserStateCache.UserState> state = userStateCache.get(email);
+        if (state.isEmpty()) {
+            return tokenExpired();
+        }
 
-            refreshTokenService.saveNewToken(
-                    jwtTokenProvider.getJtiFromJwt(tokenResponse.getRefreshToken()),
-                    email,
-                    tokenResponse.getRefreshTokenExpiry()
-            );
+        JwtTokenProvider.IssuedToken accessToken = jwtTokenProvider.issueAccessToken(email, state.get().roles(), currentFingerprint);
+        JwtTokenProvider.IssuedToken newRefreshToken = jwtTokenProvider.issueRefreshToken(email, currentFingerprint);
 
-            return ResponseEntity.ok(tokenResponse);
-        } catch (JwtException ex) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Token has expired"));
+        if (!refreshTokenService.rotateToken(claims.getId(), newRefreshToken.id(), newRefreshToken.expiresAt())) {
+            return tokenExpired();
         }
-    }
-    private boolean isRateLimitExceeded(HttpServletRequest httpRequest) {
-        String clientIp = httpRequest.getRemoteAddr();
-        Bucket bucket = resolveBucket(clientIp);
-        return !bucket.tryConsume(1);
+
+        return ResponseEntity.ok(new TokenRefreshResponse(accessToken.token(), newRefreshToken.token(),
+                accessToken.expiresAt(), newRefreshToken.expiresAt()));
     }
 
-    private boolean isRefreshTokenValid(String refreshToken, HttpServletRequest httpRequest) {
-        String currentFingerprint = jwtTokenProvider.generateDeviceFingerprint(httpRequest);
-        return jwtTokenProvider.validateToken(refreshToken, currentFingerprint) && jwtTokenProvider.isTokenTypeValid(refreshToken, "refresh");
+    private boolean isRefreshTokenValid(Claims claims, String currentFingerprint) {
+        return currentFingerprint.equals(claims.get("fingerprint", String.class)) &&
+                "refresh".equals(claims.get("type", String.class));
     }
 
-    private boolean isRefreshTokenAboutToExpire(String refreshToken) {
-        Instant expiryDate = jwtTokenProvider.getExpirationDate(refreshToken);
+    private boolean isRefreshTokenAboutToExpire(Claims claims) {
+        Instant expiryDate = claims.getExpiration().toInstant();
         Duration gracePeriod = Duration.ofMinutes(5);
         return expiryDate.isBefore(Instant.now().plus(gracePeriod));
     }
 
-    private TokenRefreshResponse generateNewTokens(String email, HttpServletRequest httpRequest) {
-        String currentFingerprint = jwtTokenProvider.generateDeviceFingerprint(httpRequest);
-
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
-
-        String newAccessToken = jwtTokenProvider.generateAccessToken(authentication, currentFingerprint);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(email, currentFingerprint);
-
-        Instant accessTokenExpiry = jwtTokenProvider.getExpirationDate(newAccessToken);
-        Instant refreshTokenExpiry = jwtTokenProvider.getExpirationDate(newRefreshToken);
-
-        return new TokenRefreshResponse(newAccessToken, newRefreshToken, accessTokenExpiry, refreshTokenExpiry);
-    }
-
-    private Bucket resolveBucket(String clientIp) {
-        return rateLimitBuckets.computeIfAbsent(clientIp, key -> {
-            Bandwidth limit = Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1)));
-            return Bucket.builder().addLimit(limit).build();
-        });
+    private ResponseEntity<?> tokenExpired() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Token has expired"));
     }
-}
\ No newline at end of file
+}
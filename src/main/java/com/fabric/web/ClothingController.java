@@ -1,7 +1,9 @@
 package com.fabric.web;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import com.fabric.database.dto.clothes.*;
 import org.springframework.data.domain.Page;
@@ -10,14 +12,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
-import com.fabric.database.dto.user.UserDTO;
 import com.fabric.exceptions.NotFoundException;
 import com.fabric.service.ClothingService;
-import com.fabric.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.fabric.service.IngestionJobService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -25,13 +27,13 @@ import jakarta.validation.constraints.Min;
 @RestController
 @RequestMapping("/clothes")
 public class ClothingController {
-    private final UserService userService;
     private final ClothingService clothingService;
+    private final IngestionJobService ingestionJobService;
 
-    public ClothingController(UserService userService,
-                              ClothingService clothService) {
-        this.userService = userService;
+    public ClothingController(ClothingService clothService,
+                              IngestionJobService ingestionJobService) {
         this.clothingService = clothService;
+        this.ingestionJobService = ingestionJobService;
     }
 
     @GetMapping("/prices")
@@ -44,12 +46,11 @@ public class ClothingController {
         return ResponseEntity.ok(this.clothingService.getDiscountPrices());
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/prices")
     public ResponseEntity<?> updatePrices(@RequestParam String type,
                                           @RequestBody @Valid ClothingPriceEditDTO clothingPriceEditDTO,
-                                          HttpServletRequest request) {
-        UserDTO admin = this.userService.validateAdmin(request);
-
+                                          Authentication authentication) {
         int updatedRows = this.clothingService.updatePrices(type, clothingPriceEditDTO);
 
         if (updatedRows == 0) {
@@ -60,33 +61,33 @@ public class ClothingController {
         return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Clothes price updated successfully!",
-                "added_by", admin.getEmail(),
+                "added_by", authentication.getName(),
                 "updated_count", updatedRows
         ));
     }
 
 
+    @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping("/add")
     public ResponseEntity<?> addCloth(@ModelAttribute @Valid ClothingValidationDTO clothDTO,
-                                      HttpServletRequest request) {
-        UserDTO admin = this.userService.validateAdmin(request);
-
-        try {
-            if (!this.clothingService.addClothing(clothDTO).get()) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body(Map.of("message", "Clothing with this model and type already exists."));
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Error occurred"));
-        }
+                                      Authentication authentication) {
+        UUID jobId = this.ingestionJobService.submitCreate(clothDTO, authentication.getName());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/clothes/jobs/" + jobId))
+                .body(Map.of(
+                        "status", "accepted",
+                        "message", "Clothing creation has been queued.",
+                        "job_id", jobId,
+                        "clothing_name", clothDTO.getName(),
+                        "added_by", authentication.getName()
+                ));
+    }
 
-        return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "Clothing added successfully!",
-                "clothing_name", clothDTO.getName(),
-                "added_by", admin.getEmail()
-        ));
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable("jobId") UUID jobId) {
+        return ResponseEntity.ok(this.ingestionJobService.getJob(jobId));
     }
 
     @GetMapping("/{id}")
@@ -109,10 +110,11 @@ public class ClothingController {
         ));
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<?> editClothById(@PathVariable("id") Long id,
                                            @ModelAttribute @Valid ClothingEditValidationDTO clothDto,
-                                           HttpServletRequest request) {
+                                           Authentication authentication) {
         if (id == null || id < 1) {
             return ResponseEntity.badRequest().body(Map.of(
                     "status", "error",
@@ -120,24 +122,23 @@ public class ClothingController {
             ));
         }
 
-        UserDTO admin = this.userService.validateAdmin(request);
-
-        if (!this.clothingService.editClothing(clothDto, id)) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("message", String.format("Clothing with id: %d has no images", id)));
-        }
-
-        return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "Clothing edited successfully!",
-                "clothing_name", clothDto.getName(),
-                "edited_by", admin.getEmail()
-        ));
+        UUID jobId = this.ingestionJobService.submitEdit(id, clothDto, authentication.getName());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/clothes/jobs/" + jobId))
+                .body(Map.of(
+                        "status", "accepted",
+                        "message", "Clothing edit has been queued.",
+                        "job_id", jobId,
+                        "clothing_name", clothDto.getName(),
+                        "edited_by", authentication.getName()
+                ));
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/delete/{id}")
     public ResponseEntity<?> deleteClothById(@PathVariable("id") Long id,
-                                             HttpServletRequest request) {
+                                             Authentication authentication) {
         if (id == null || id < 1) {
             return ResponseEntity.badRequest().body(Map.of(
                     "status", "error",
@@ -145,8 +146,6 @@ public class ClothingController {
             ));
         }
 
-        UserDTO admin = this.userService.validateAdmin(request);
-
         if (!this.clothingService.remove(id)) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(Map.of("message", String.format("Clothing with id: %d was not found", id)));
@@ -155,7 +154,7 @@ public class ClothingController {
         return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Clothing with id: " + id + " was deleted successfully!",
-                "deleted_by", admin.getEmail()
+                "deleted_by", authentication.getName()
         ));
     }
 
@@ -2,13 +2,17 @@ package com.fabric.web;
 
 import com.fabric.database.dto.order.OrderDTO;
 import com.fabric.database.dto.order.OrderPageDTO;
+import com.fabric.database.dto.order.OrderStatusBatchDTO;
+import com.fabric.database.dto.order.OrderStatusUpdateResult;
 import com.fabric.database.dto.order.OrdersDetailsDTO;
 import com.fabric.database.dto.user.UserDTO;
 import com.fabric.database.entity.enums.Role;
+import com.fabric.exceptions.BadRequestException;
 import com.fabric.exceptions.NotFoundException;
-import com.fabric.exceptions.UnauthorizedException;
+import com.fabric.service.OrderExportService;
 import com.fabric.service.OrderService;
 import com.fabric.service.UserService;
+import com.fabric.utils.IdempotencyStore;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -17,33 +21,49 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
     private final UserService userService;
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final IdempotencyStore idempotencyStore;
 
     public OrderController(UserService userService,
-                           OrderService orderService) {
+                           OrderService orderService,
+                           OrderExportService orderExportService,
+                           IdempotencyStore idempotencyStore) {
         this.userService = userService;
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping("/create")
-    public ResponseEntity<?> createOrder(@RequestBody @Valid OrderDTO dto, HttpServletRequest request) {
-        try {
-            UserDTO userDTO = this.userService.validateUser(request);
-            this.orderService.createOrder(dto, userDTO);
-            return successResponse("Order created for user");
-        } catch (UnauthorizedException e) {
-            this.orderService.createOrder(dto);
-            return successResponse("Order created for anonymous user");
+    public ResponseEntity<?> createOrder(@RequestBody @Valid OrderDTO dto,
+                                         @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                         HttpServletRequest request) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return placeOrder(dto, request);
         }
+
+        String owner = this.userService.findCurrentUser(request)
+                .map(UserDTO::getEmail)
+                .orElse("anonymous");
+
+        return this.idempotencyStore.execute(owner, idempotencyKey, dto, () -> placeOrder(dto, request));
     }
 
     @GetMapping("/list")
@@ -71,6 +91,26 @@ public class OrderController {
         ));
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(name = "format", defaultValue = "csv") String format) {
+        String normalizedFormat = format.toLowerCase();
+        if (!"csv".equals(normalizedFormat) && !"ndjson".equals(normalizedFormat)) {
+            throw new BadRequestException("Format must be 'csv' or 'ndjson'");
+        }
+
+        MediaType contentType = "csv".equals(normalizedFormat)
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+        StreamingResponseBody body = outputStream -> this.orderExportService.exportOrders(outputStream, normalizedFormat);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + normalizedFormat + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrder(@PathVariable Long id, HttpServletRequest request) {
         this.userService.validateUser(request);
@@ -88,12 +128,10 @@ public class OrderController {
         ));
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<?> updateOrder(@PathVariable Long id,
-                                         @RequestParam(name = "status") String status,
-                                         HttpServletRequest request) {
-        this.userService.validateAdmin(request);
-
+                                         @RequestParam(name = "status") String status) {
         validateId(id);
         validateStatus(status);
 
@@ -104,6 +142,36 @@ public class OrderController {
         }
     }
 
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PutMapping("/status")
+    public ResponseEntity<?> updateOrders(@RequestBody @Valid OrderStatusBatchDTO dto) {
+        dto.getIds().forEach(this::validateId);
+        validateStatus(dto.getStatus());
+
+        Map<Long, OrderStatusUpdateResult> results = this.orderService.updateStatuses(dto.getIds(), dto.getStatus());
+        long updated = results.values().stream()
+                .filter(result -> result == OrderStatusUpdateResult.UPDATED)
+                .count();
+
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", updated == 0 ? "No order statuses were updated" : "Order statuses updated",
+                "updated_count", updated,
+                "results", results
+        ));
+    }
+
+    private ResponseEntity<?> placeOrder(OrderDTO dto, HttpServletRequest request) {
+        Optional<UserDTO> userDTO = this.userService.findCurrentUser(request);
+        if (userDTO.isPresent()) {
+            this.orderService.createOrder(dto, userDTO.get());
+            return successResponse("Order created for user");
+        }
+
+        this.orderService.createOrder(dto);
+        return successResponse("Order created for anonymous user");
+    }
+
     private void validateId(Long id) {
         if (id == null || id < 0) {
             throw new IllegalArgumentException("Id must be a positive number");
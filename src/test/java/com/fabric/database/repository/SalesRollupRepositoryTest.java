@@ -0,0 +1,75 @@
+package com.fabric.database.repository;
+
+import com.fabric.database.dto.analytics.SalesRollupDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SalesRollupRepositoryTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Test
+    void incrementInsertsTheFirstRowAndAddsToItAfterwards() {
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", 2, 50.0);
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", 1, 25.0);
+
+        List<SalesRollupDTO> rollups = this.salesRollupRepository.findRollups(DAY, DAY);
+
+        assertEquals(1, rollups.size());
+        assertEquals(3, rollups.get(0).getUnitsSold());
+        assertEquals(75.0, rollups.get(0).getRevenue());
+    }
+
+    @Test
+    void negativeIncrementRevokesAndAConfirmAfterItCountsOnce() {
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", 2, 50.0);
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", -2, -50.0);
+
+        SalesRollupDTO revoked = this.salesRollupRepository.findRollups(DAY, DAY).get(0);
+        assertEquals(0, revoked.getUnitsSold());
+        assertEquals(0.0, revoked.getRevenue());
+
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", 2, 50.0);
+
+        SalesRollupDTO confirmed = this.salesRollupRepository.findRollups(DAY, DAY).get(0);
+        assertEquals(2, confirmed.getUnitsSold());
+        assertEquals(50.0, confirmed.getRevenue());
+    }
+
+    @Test
+    void differentBucketsAndDaysStaySeparate() {
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M", 1, 25.0);
+        this.salesRollupRepository.increment(DAY, "T_SHIRT", "FOOTBALL", "FEMALE", "M", 1, 25.0);
+        this.salesRollupRepository.increment(DAY.plusDays(1), "T_SHIRT", "FOOTBALL", "MALE", "M", 1, 25.0);
+
+        assertEquals(2, this.salesRollupRepository.findRollups(DAY, DAY).size());
+        assertEquals(3, this.salesRollupRepository.findRollups(DAY, DAY.plusDays(1)).size());
+    }
+}
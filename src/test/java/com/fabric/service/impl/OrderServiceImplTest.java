@@ -0,0 +1,178 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.dto.order.OrderStatusUpdateResult;
+import com.fabric.database.entity.Order;
+import com.fabric.database.entity.enums.Gender;
+import com.fabric.database.repository.ClothingRepository;
+import com.fabric.database.repository.OrderRepository;
+import com.fabric.database.repository.UserRepository;
+import com.fabric.service.ClothingService;
+import com.fabric.service.EmailService;
+import com.fabric.utils.PhoneNumberUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.fabric.database.dto.order.OrderStatusUpdateResult.NOT_FOUND;
+import static com.fabric.database.dto.order.OrderStatusUpdateResult.UNCHANGED;
+import static com.fabric.database.dto.order.OrderStatusUpdateResult.UPDATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplTest {
+    private static final Instant CREATED_AT = Instant.parse("2024-05-10T09:00:00Z");
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    private OrderRepository orderRepository;
+    private ClothingService clothingService;
+    private SalesRollupLedger ledger;
+    private OrderServiceImpl orderService;
+    private Map<Long, Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        this.orderRepository = mock(OrderRepository.class);
+        this.clothingService = mock(ClothingService.class);
+        this.ledger = new SalesRollupLedger();
+
+        CacheManager cacheManager = mock(CacheManager.class);
+        this.orderService = new OrderServiceImpl(
+                this.orderRepository,
+                mock(ClothingRepository.class),
+                mock(UserRepository.class),
+                this.clothingService,
+                mock(EmailService.class),
+                new SalesAnalyticsServiceImpl(this.ledger.repository(), cacheManager),
+                mock(PhoneNumberUtils.class),
+                new ModelMapper(),
+                cacheManager
+        );
+
+        this.orders = Map.of(
+                1L, order(1L, "Pending", 2, 25.0),
+                2L, order(2L, "Pending", 1, 40.0)
+        );
+        when(this.orderRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(this.orders.get(invocation.<Long>getArgument(0))));
+        when(this.orderRepository.findAllWithItemsByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(this.orders::get)
+                        .filter(order -> order != null)
+                        .toList());
+    }
+
+    @Test
+    void confirmingAConfirmedOrderAgainLeavesTheRollupUnchanged() {
+        assertTrue(this.orderService.updateStatus(1L, "confirm"));
+        assertFalse(this.orderService.updateStatus(1L, "confirm"));
+        assertFalse(this.orderService.updateStatus(1L, "CONFIRM"));
+
+        assertEquals("Confirmed", this.orders.get(1L).getStatus());
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+        verify(this.clothingService, times(1)).setTotalSales(any());
+        verify(this.orderRepository, times(1)).save(any());
+    }
+
+    @Test
+    void confirmRevokeAndConfirmAgainThroughUpdateStatus() {
+        this.orderService.updateStatus(1L, "confirm");
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+
+        this.orderService.updateStatus(1L, "pending");
+        assertEquals(SalesRollupLedger.Totals.ZERO, totals());
+
+        this.orderService.updateStatus(1L, "confirm");
+        this.orderService.updateStatus(1L, "reject");
+        assertEquals(SalesRollupLedger.Totals.ZERO, totals());
+
+        this.orderService.updateStatus(1L, "confirm");
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+    }
+
+    @Test
+    void confirmRevokeAndConfirmAgainThroughUpdateStatuses() {
+        assertEquals(Map.of(1L, UPDATED, 2L, UPDATED), this.orderService.updateStatuses(List.of(1L, 2L), "confirm"));
+        assertEquals(new SalesRollupLedger.Totals(3, 90.0), totals());
+
+        assertEquals(Map.of(1L, UNCHANGED, 2L, UNCHANGED), this.orderService.updateStatuses(List.of(1L, 2L), "confirm"));
+        assertEquals(new SalesRollupLedger.Totals(3, 90.0), totals());
+
+        assertEquals(Map.of(2L, UPDATED), this.orderService.updateStatuses(List.of(2L), "reject"));
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+
+        // Only order 2 changes; order 1 is already confirmed and must not be counted twice.
+        assertEquals(Map.of(1L, UNCHANGED, 2L, UPDATED), this.orderService.updateStatuses(List.of(1L, 2L), "confirm"));
+        assertEquals(new SalesRollupLedger.Totals(3, 90.0), totals());
+    }
+
+    @Test
+    void updateStatusesReportsUnknownIdsWithoutFailingTheBatch() {
+        Map<Long, OrderStatusUpdateResult> results = this.orderService.updateStatuses(List.of(7L, 1L, 8L), "confirm");
+
+        assertEquals(List.of(7L, 1L, 8L), List.copyOf(results.keySet()));
+        assertEquals(List.of(NOT_FOUND, UPDATED, NOT_FOUND), List.copyOf(results.values()));
+        assertEquals("Confirmed", this.orders.get(1L).getStatus());
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+    }
+
+    @Test
+    void updateStatusesWithOnlyNoOpsAndUnknownIdsWritesNothing() {
+        Map<Long, OrderStatusUpdateResult> results = this.orderService.updateStatuses(List.of(1L, 2L, 9L), "pending");
+
+        assertEquals(Map.of(1L, UNCHANGED, 2L, UNCHANGED, 9L, NOT_FOUND), results);
+        verify(this.orderRepository, never()).saveAll(any());
+        verify(this.clothingService, never()).setTotalSales(any());
+        assertEquals(SalesRollupLedger.Totals.ZERO, totals());
+    }
+
+    @Test
+    void updateStatusesReportsAMixedBatchInRequestOrderAndCollapsesDuplicates() {
+        this.orderService.updateStatus(2L, "confirm");
+
+        Map<Long, OrderStatusUpdateResult> results = this.orderService.updateStatuses(List.of(2L, 5L, 1L, 2L), "confirm");
+
+        assertEquals(List.of(2L, 5L, 1L), List.copyOf(results.keySet()));
+        assertEquals(List.of(UNCHANGED, NOT_FOUND, UPDATED), List.copyOf(results.values()));
+        verify(this.orderRepository).saveAll(List.of(this.orders.get(1L)));
+        assertEquals(new SalesRollupLedger.Totals(3, 90.0), totals());
+    }
+
+    @Test
+    void singleAndBatchTransitionsAgreeOnTheRollup() {
+        this.orderService.updateStatus(1L, "confirm");
+        this.orderService.updateStatuses(List.of(1L, 2L), "pending");
+        assertEquals(SalesRollupLedger.Totals.ZERO, totals());
+
+        this.orderService.updateStatuses(List.of(1L, 2L), "confirm");
+        this.orderService.updateStatus(2L, "pending");
+        assertEquals(new SalesRollupLedger.Totals(2, 50.0), totals());
+    }
+
+    private SalesRollupLedger.Totals totals() {
+        return this.ledger.totals(DAY, "T_SHIRT", "FOOTBALL", "MALE", "M");
+    }
+
+    private static Order order(Long id, String status, int quantity, double price) {
+        Order order = SalesAnalyticsServiceImplTest.order(CREATED_AT);
+        order.setId(id);
+        order.setStatus(status);
+        SalesAnalyticsServiceImplTest.item(order, Gender.MALE, "M", quantity, price);
+        return order;
+    }
+}
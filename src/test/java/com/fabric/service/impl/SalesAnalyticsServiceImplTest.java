@@ -0,0 +1,138 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.entity.Clothing;
+import com.fabric.database.entity.Order;
+import com.fabric.database.entity.OrderItem;
+import com.fabric.database.entity.enums.Category;
+import com.fabric.database.entity.enums.Gender;
+import com.fabric.database.entity.enums.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SalesAnalyticsServiceImplTest {
+    private static final Instant CREATED_AT = Instant.parse("2024-05-10T09:00:00Z");
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    private SalesRollupLedger ledger;
+    private SalesAnalyticsServiceImpl salesAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        this.ledger = new SalesRollupLedger();
+        this.salesAnalyticsService = new SalesAnalyticsServiceImpl(this.ledger.repository(), mock(CacheManager.class));
+    }
+
+    @Test
+    void recordConfirmedItemsSumsItemsOfTheSameBucketIntoOneUpsert() {
+        Order order = order(CREATED_AT);
+        List<OrderItem> items = List.of(
+                item(order, Gender.MALE, "M", 2, 25.0),
+                item(order, Gender.MALE, "M", 1, 25.0)
+        );
+
+        this.salesAnalyticsService.recordConfirmedItems(items);
+
+        verify(this.ledger.repository(), times(1)).increment(eq(DAY), eq("T_SHIRT"), eq("FOOTBALL"),
+                eq("MALE"), eq("M"), eq(3L), eq(75.0));
+    }
+
+    @Test
+    void revokeConfirmedItemsUpsertsNegatedAmounts() {
+        Order order = order(CREATED_AT);
+
+        this.salesAnalyticsService.revokeConfirmedItems(List.of(item(order, Gender.FEMALE, "S", 2, 30.0)));
+
+        verify(this.ledger.repository()).increment(eq(DAY), eq("T_SHIRT"), eq("FOOTBALL"),
+                eq("FEMALE"), eq("S"), eq(-2L), eq(-60.0));
+    }
+
+    @Test
+    void confirmRevokeAndConfirmAgainCountsTheOrderOnce() {
+        Order order = order(CREATED_AT);
+        List<OrderItem> items = List.of(item(order, Gender.CHILD, "XS", 3, 15.0));
+
+        this.salesAnalyticsService.recordConfirmedItems(items);
+        this.salesAnalyticsService.revokeConfirmedItems(items);
+        assertEquals(SalesRollupLedger.Totals.ZERO, this.ledger.totals(DAY, "T_SHIRT", "FOOTBALL", "CHILD", "XS"));
+
+        this.salesAnalyticsService.recordConfirmedItems(items);
+        assertEquals(new SalesRollupLedger.Totals(3, 45.0), this.ledger.totals(DAY, "T_SHIRT", "FOOTBALL", "CHILD", "XS"));
+    }
+
+    @Test
+    void emptyItemsDoNotTouchTheRollups() {
+        this.salesAnalyticsService.recordConfirmedItems(List.of());
+        this.salesAnalyticsService.revokeConfirmedItems(List.of());
+
+        verify(this.ledger.repository(), never()).increment(any(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyDouble());
+    }
+
+    @Test
+    void missingClothingAndGenderFallBackToUnspecified() {
+        Order order = order(CREATED_AT);
+        OrderItem item = item(order, null, null, 1, 10.0);
+        item.setClothing(null);
+
+        this.salesAnalyticsService.recordConfirmedItems(List.of(item));
+
+        assertEquals(new SalesRollupLedger.Totals(1, 10.0),
+                this.ledger.totals(DAY, "UNSPECIFIED", "UNSPECIFIED", "UNSPECIFIED", "UNSPECIFIED"));
+    }
+
+    // Sofia is UTC+2 in winter and UTC+3 in summer; buckets follow the local calendar day.
+    @ParameterizedTest
+    @CsvSource({
+            "2024-01-15T21:59:59Z, 2024-01-15",
+            "2024-01-15T22:00:00Z, 2024-01-16",
+            "2024-07-15T20:59:59Z, 2024-07-15",
+            "2024-07-15T21:00:00Z, 2024-07-16",
+            "2024-03-30T21:59:59Z, 2024-03-30",
+            "2024-03-30T22:00:00Z, 2024-03-31",
+            "2024-10-26T20:59:59Z, 2024-10-26",
+            "2024-10-26T21:00:00Z, 2024-10-27"
+    })
+    void bucketsByTheOrderDayInSofia(String createdAt, String expectedDay) {
+        Order order = order(Instant.parse(createdAt));
+
+        this.salesAnalyticsService.recordConfirmedItems(List.of(item(order, Gender.MALE, "L", 1, 20.0)));
+
+        verify(this.ledger.repository()).increment(eq(LocalDate.parse(expectedDay)), eq("T_SHIRT"), eq("FOOTBALL"),
+                eq("MALE"), eq("L"), eq(1L), eq(20.0));
+    }
+
+    static Order order(Instant createdAt) {
+        Order order = new Order();
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    static OrderItem item(Order order, Gender gender, String size, int quantity, double price) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setClothing(new Clothing("Shirt", "Test shirt", price, "M1", Type.T_SHIRT, Category.FOOTBALL));
+        item.setGender(gender);
+        item.setSize(size);
+        item.setQuantity(quantity);
+        item.setPrice(price);
+        order.getItems().add(item);
+        return item;
+    }
+}
@@ -0,0 +1,52 @@
+package com.fabric.service.impl;
+
+import com.fabric.database.repository.SalesRollupRepository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Applies {@link SalesRollupRepository#increment} the way the upsert does, so tests can assert on rollup totals.
+ */
+final class SalesRollupLedger {
+    private final Map<String, Totals> totals = new HashMap<>();
+    private final SalesRollupRepository repository = mock(SalesRollupRepository.class);
+
+    SalesRollupLedger() {
+        doAnswer(invocation -> {
+            String key = key(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3), invocation.getArgument(4));
+            Totals delta = new Totals(invocation.getArgument(5), invocation.getArgument(6));
+            this.totals.merge(key, delta, Totals::plus);
+            return null;
+        }).when(this.repository).increment(any(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyDouble());
+    }
+
+    SalesRollupRepository repository() {
+        return this.repository;
+    }
+
+    Totals totals(LocalDate day, String type, String category, String gender, String size) {
+        return this.totals.getOrDefault(key(day, type, category, gender, size), Totals.ZERO);
+    }
+
+    private static String key(LocalDate day, String type, String category, String gender, String size) {
+        return day + "|" + type + "|" + category + "|" + gender + "|" + size;
+    }
+
+    record Totals(long units, double revenue) {
+        static final Totals ZERO = new Totals(0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(this.units + other.units, this.revenue + other.revenue);
+        }
+    }
+}
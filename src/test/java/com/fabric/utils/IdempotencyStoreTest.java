@@ -0,0 +1,79 @@
+package com.fabric.utils;
+
+import com.fabric.database.dto.ApiError;
+import com.fabric.exceptions.GlobalExceptionHandler;
+import com.fabric.exceptions.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+    private static final String KEY = "3f1c2a9e-order";
+    private static final Map<String, Object> REQUEST = Map.of("ids", List.of(1, 2), "status", "confirm");
+
+    private IdempotencyStore idempotencyStore;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        this.idempotencyStore = new IdempotencyStore(new ObjectMapper(), 10, 100);
+        this.calls = new AtomicInteger();
+    }
+
+    @Test
+    void sameKeyReplayReturnsTheFirstResultWithoutRunningTheActionAgain() {
+        String first = this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action);
+        String replay = this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action);
+
+        assertEquals("result-1", first);
+        assertEquals(first, replay);
+        assertEquals(1, this.calls.get());
+    }
+
+    @Test
+    void sameKeyWithADifferentBodyIsRejectedWith422() {
+        this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action);
+
+        IdempotencyKeyMismatchException ex = assertThrows(IdempotencyKeyMismatchException.class, () ->
+                this.idempotencyStore.execute("alice@fabric.com", KEY, Map.of("ids", List.of(1, 2), "status", "reject"), this::action));
+        assertEquals(1, this.calls.get());
+
+        ResponseEntity<ApiError> response = new GlobalExceptionHandler().handleIdempotencyKeyMismatchException(ex);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getBody().getStatusCode());
+    }
+
+    @Test
+    void sameKeyFromADifferentOwnerRunsIndependently() {
+        String alice = this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action);
+        String bob = this.idempotencyStore.execute("bob@fabric.com", KEY, REQUEST, this::action);
+
+        assertEquals("result-1", alice);
+        assertEquals("result-2", bob);
+        assertEquals("result-1", this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action));
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    void failedActionIsNotCachedAndCanBeRetried() {
+        assertThrows(IllegalStateException.class, () ->
+                this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals("result-1", this.idempotencyStore.execute("alice@fabric.com", KEY, REQUEST, this::action));
+    }
+
+    private String action() {
+        return "result-" + this.calls.incrementAndGet();
+    }
+}
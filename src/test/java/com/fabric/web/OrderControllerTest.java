@@ -0,0 +1,93 @@
+package com.fabric.web;
+
+import com.fabric.database.dto.order.OrderStatusUpdateResult;
+import com.fabric.exceptions.GlobalExceptionHandler;
+import com.fabric.service.OrderExportService;
+import com.fabric.service.OrderService;
+import com.fabric.service.UserService;
+import com.fabric.utils.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderControllerTest {
+    private OrderService orderService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        this.orderService = mock(OrderService.class);
+        OrderController controller = new OrderController(
+                mock(UserService.class),
+                this.orderService,
+                mock(OrderExportService.class),
+                mock(IdempotencyStore.class)
+        );
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void batchUpdateReturnsTheResultOfEveryId() throws Exception {
+        Map<Long, OrderStatusUpdateResult> results = new LinkedHashMap<>();
+        results.put(1L, OrderStatusUpdateResult.UPDATED);
+        results.put(2L, OrderStatusUpdateResult.UNCHANGED);
+        results.put(99L, OrderStatusUpdateResult.NOT_FOUND);
+        when(this.orderService.updateStatuses(List.of(1L, 2L, 99L), "confirm")).thenReturn(results);
+
+        this.mockMvc.perform(put("/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2, 99], \"status\": \"confirm\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.message").value("Order statuses updated"))
+                .andExpect(jsonPath("$.updated_count").value(1))
+                .andExpect(jsonPath("$.results['1']").value("UPDATED"))
+                .andExpect(jsonPath("$.results['2']").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results['99']").value("NOT_FOUND"));
+    }
+
+    @Test
+    void batchUpdateWithOnlyUnknownAndNoOpIdsReportsNothingUpdated() throws Exception {
+        when(this.orderService.updateStatuses(List.of(3L, 4L), "pending")).thenReturn(Map.of(
+                3L, OrderStatusUpdateResult.NOT_FOUND,
+                4L, OrderStatusUpdateResult.UNCHANGED
+        ));
+
+        this.mockMvc.perform(put("/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [3, 4], \"status\": \"pending\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("No order statuses were updated"))
+                .andExpect(jsonPath("$.updated_count").value(0))
+                .andExpect(jsonPath("$.results['3']").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results['4']").value("UNCHANGED"));
+    }
+
+    @Test
+    void batchUpdateRejectsAnEmptyIdList() throws Exception {
+        this.mockMvc.perform(put("/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [], \"status\": \"confirm\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(this.orderService, never()).updateStatuses(any(), anyString());
+    }
+}